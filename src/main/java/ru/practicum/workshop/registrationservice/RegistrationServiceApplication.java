@@ -3,9 +3,16 @@ package ru.practicum.workshop.registrationservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ru.practicum.workshop.registrationservice.config.RegistrationServiceRuntimeHints;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableRetry
+@EnableScheduling
+@ImportRuntimeHints(RegistrationServiceRuntimeHints.class)
 public class RegistrationServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,56 @@
+package ru.practicum.workshop.registrationservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.client.dto.PublicOrgTeamMemberDto;
+
+import java.util.List;
+
+// Event client used by the services. Concurrent reads of the same event, e.g. by registrations on opening
+// of an event, share one request to event-service. Calls are counted by
+// registration.event-client.calls{method, outcome=executed|coalesced}.
+@Component
+@Primary
+public class CoalescingEventClient implements EventClient {
+    private static final String CALLS_METRIC = "registration.event-client.calls";
+
+    private final EventClient delegate;
+    private final SingleFlight<Long, EventResponse> getEventCalls;
+    private final SingleFlight<List<Long>, EventResponse> getEventByRequesterCalls;
+    private final SingleFlight<Long, List<PublicOrgTeamMemberDto>> getEventTeamMembersCalls;
+
+    public CoalescingEventClient(@Qualifier(HedgingEventClient.QUALIFIER) EventClient delegate,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.getEventCalls = singleFlight(meterRegistry, "getEvent");
+        this.getEventByRequesterCalls = singleFlight(meterRegistry, "getEventByRequester");
+        this.getEventTeamMembersCalls = singleFlight(meterRegistry, "getEventTeamMembers");
+    }
+
+    @Override
+    public EventResponse getEvent(Long id, Long requesterId) {
+        return getEventByRequesterCalls.execute(List.of(id, requesterId), () -> delegate.getEvent(id, requesterId));
+    }
+
+    @Override
+    public EventResponse getEvent(Long id) {
+        return getEventCalls.execute(id, () -> delegate.getEvent(id));
+    }
+
+    @Override
+    public List<PublicOrgTeamMemberDto> getEventTeamMembers(Long eventId) {
+        return getEventTeamMembersCalls.execute(eventId, () -> delegate.getEventTeamMembers(eventId));
+    }
+
+    private static <K, V> SingleFlight<K, V> singleFlight(MeterRegistry meterRegistry, String method) {
+        return new SingleFlight<>(
+                Counter.builder(CALLS_METRIC).tag("method", method).tag("outcome", "executed")
+                        .register(meterRegistry),
+                Counter.builder(CALLS_METRIC).tag("method", method).tag("outcome", "coalesced")
+                        .register(meterRegistry));
+    }
+}
@@ -10,10 +10,14 @@ import ru.practicum.workshop.registrationservice.client.dto.PublicOrgTeamMemberD
 
 import java.util.List;
 
-@FeignClient(name = "event-service-client", url = "http://host.docker.internal:8082",
-        configuration = CustomFeignClientConfiguration.class
+// The HTTP client is injected into HedgingEventClient only, services get CoalescingEventClient wrapping it.
+@FeignClient(name = "event-service-client",
+        configuration = CustomFeignClientConfiguration.class,
+        primary = false, qualifiers = EventClient.FEIGN_QUALIFIER
 )
 public interface EventClient {
+    String FEIGN_QUALIFIER = "eventFeignClient";
+
     @GetMapping("/events/{id}")
     EventResponse getEvent(@PathVariable Long id, @RequestHeader(value = "X-User-Id") Long requesterId);
 
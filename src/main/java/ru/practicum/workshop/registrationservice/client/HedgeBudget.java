@@ -0,0 +1,26 @@
+package ru.practicum.workshop.registrationservice.client;
+
+// Token bucket limiting second requests to a share of all calls. Each call adds the share of a token,
+// each second request takes a whole one, unused tokens accumulate up to a small burst.
+class HedgeBudget {
+    private static final double MAX_TOKENS = 10;
+
+    private final double tokensPerCall;
+    private double tokens;
+
+    HedgeBudget(double budgetPercent) {
+        this.tokensPerCall = budgetPercent / 100;
+    }
+
+    synchronized void onCall() {
+        tokens = Math.min(MAX_TOKENS, tokens + tokensPerCall);
+    }
+
+    synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.workshop.registrationservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadline;
+import ru.practicum.workshop.registrationservice.timing.RequestTimings;
+import ru.practicum.workshop.registrationservice.timing.TimingCategory;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// Calls of one method that are sent a second time when no reply arrives within the given percentile of the
+// latencies of recent calls. The first successful reply is used, the other call is left to complete.
+// Calls are not hedged until enough latencies are recorded, nor when the budget or the executor is exhausted.
+class HedgedCalls<V> {
+    private static final int WINDOW_SIZE = 1024;
+    private static final int RECALCULATE_EVERY = 64;
+
+    private final Executor executor;
+    private final HedgeBudget budget;
+    private final double percentile;
+    private final Counter sentHedges;
+    private final Counter wonHedges;
+    private final Counter throttledHedges;
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicLong recordedLatencies = new AtomicLong();
+    private volatile long delayNanos = -1;
+
+    HedgedCalls(Executor executor, HedgeBudget budget, double percentile,
+                Counter sentHedges, Counter wonHedges, Counter throttledHedges) {
+        this.executor = executor;
+        this.budget = budget;
+        this.percentile = percentile;
+        this.sentHedges = sentHedges;
+        this.wonHedges = wonHedges;
+        this.throttledHedges = throttledHedges;
+    }
+
+    V execute(Supplier<V> call) {
+        budget.onCall();
+        long delay = delayNanos;
+        if (delay < 0) {
+            return timed(call);
+        }
+
+        CompletableFuture<V> primary;
+        try {
+            primary = CompletableFuture.supplyAsync(() -> timed(call), executor);
+        } catch (RejectedExecutionException e) {
+            return timed(call);
+        }
+
+        // The calls run on the executor, so their time is the wait of the calling thread.
+        long start = System.nanoTime();
+        try {
+            return awaitFirstReply(primary, delay, call);
+        } finally {
+            RequestTimings.record(TimingCategory.DOWNSTREAM, System.nanoTime() - start);
+        }
+    }
+
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    private V awaitFirstReply(CompletableFuture<V> primary, long delay, Supplier<V> call) {
+        try {
+            return await(primary, delay);
+        } catch (TimeoutException e) {
+            // No reply within the delay, a second request is sent if the budget allows.
+        }
+
+        if (!budget.tryAcquire()) {
+            throttledHedges.increment();
+            return await(primary);
+        }
+        CompletableFuture<V> hedge;
+        try {
+            hedge = CompletableFuture.supplyAsync(() -> timed(call), executor);
+        } catch (RejectedExecutionException e) {
+            return await(primary);
+        }
+        sentHedges.increment();
+
+        // Completed with the call that replied first, or with an exception once both calls have failed.
+        CompletableFuture<CompletableFuture<V>> firstReply = new CompletableFuture<>();
+        primary.whenComplete((result, e) -> {
+            if (e == null) {
+                firstReply.complete(primary);
+            } else if (hedge.isCompletedExceptionally()) {
+                firstReply.completeExceptionally(e);
+            }
+        });
+        hedge.whenComplete((result, e) -> {
+            if (e == null) {
+                firstReply.complete(hedge);
+            } else if (primary.isCompletedExceptionally()) {
+                firstReply.completeExceptionally(e);
+            }
+        });
+        CompletableFuture<V> reply = await(firstReply);
+        if (reply == hedge) {
+            wonHedges.increment();
+        }
+        return reply.join();
+    }
+
+    private V timed(Supplier<V> call) {
+        long start = System.nanoTime();
+        V result = call.get();
+        record(System.nanoTime() - start);
+        return result;
+    }
+
+    private void record(long latencyNanos) {
+        long count = recordedLatencies.incrementAndGet();
+        latencies.set((int) ((count - 1) % WINDOW_SIZE), latencyNanos);
+        if (count % RECALCULATE_EVERY == 0) {
+            long[] window = new long[(int) Math.min(count, WINDOW_SIZE)];
+            for (int i = 0; i < window.length; i++) {
+                window[i] = latencies.get(i);
+            }
+            Arrays.sort(window);
+            delayNanos = window[(int) Math.ceil(percentile / 100 * window.length) - 1];
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return await(future, RequestDeadline.remainingNanos());
+        } catch (TimeoutException e) {
+            throw RequestDeadline.exceeded(e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long timeoutNanos) throws TimeoutException {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw (Error) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a call to event-service.", e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.workshop.registrationservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.client.dto.PublicOrgTeamMemberDto;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadline;
+
+import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Event client hedging the reads from event-service, all of them are idempotent. A read without a reply within
+// the configured percentile of recent latencies is sent again, second requests are limited to budget-percent of
+// reads. Hedges are counted by registration.event-client.hedges{method, outcome=sent|won|throttled}, the current
+// delays are published as registration.event-client.hedge-delay{method}.
+@Component
+@Qualifier(HedgingEventClient.QUALIFIER)
+public class HedgingEventClient implements EventClient, DisposableBean {
+    public static final String QUALIFIER = "hedgingEventClient";
+
+    private static final String HEDGES_METRIC = "registration.event-client.hedges";
+    private static final String HEDGE_DELAY_METRIC = "registration.event-client.hedge-delay";
+
+    private final EventClient delegate;
+    private final ThreadPoolExecutor executor;
+    private final HedgedCalls<EventResponse> getEventCalls;
+    private final HedgedCalls<EventResponse> getEventByRequesterCalls;
+    private final HedgedCalls<List<PublicOrgTeamMemberDto>> getEventTeamMembersCalls;
+
+    public HedgingEventClient(@Qualifier(EventClient.FEIGN_QUALIFIER) EventClient delegate,
+                              MeterRegistry meterRegistry,
+                              @Value("${registration.event-client.hedging.enabled}") boolean enabled,
+                              @Value("${registration.event-client.hedging.percentile}") double percentile,
+                              @Value("${registration.event-client.hedging.budget-percent}") double budgetPercent,
+                              @Value("${registration.event-client.hedging.max-threads}") int maxThreads) {
+        this.delegate = delegate;
+        if (!enabled) {
+            this.executor = null;
+            this.getEventCalls = null;
+            this.getEventByRequesterCalls = null;
+            this.getEventTeamMembersCalls = null;
+            return;
+        }
+
+        // Calls are not queued, a call that finds all threads busy is executed by the calling thread.
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "event-client-hedging-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        HedgeBudget budget = new HedgeBudget(budgetPercent);
+        this.getEventCalls = hedgedCalls(meterRegistry, "getEvent", budget, percentile);
+        this.getEventByRequesterCalls = hedgedCalls(meterRegistry, "getEventByRequester", budget, percentile);
+        this.getEventTeamMembersCalls = hedgedCalls(meterRegistry, "getEventTeamMembers", budget, percentile);
+    }
+
+    @Override
+    public EventResponse getEvent(Long id, Long requesterId) {
+        return execute(getEventByRequesterCalls, () -> delegate.getEvent(id, requesterId));
+    }
+
+    @Override
+    public EventResponse getEvent(Long id) {
+        return execute(getEventCalls, () -> delegate.getEvent(id));
+    }
+
+    @Override
+    public List<PublicOrgTeamMemberDto> getEventTeamMembers(Long eventId) {
+        return execute(getEventTeamMembersCalls, () -> delegate.getEventTeamMembers(eventId));
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private <V> V execute(HedgedCalls<V> calls, Supplier<V> call) {
+        return calls == null ? call.get() : calls.execute(RequestDeadline.propagate(call));
+    }
+
+    private <V> HedgedCalls<V> hedgedCalls(MeterRegistry meterRegistry, String method,
+                                           HedgeBudget budget, double percentile) {
+        HedgedCalls<V> calls = new HedgedCalls<>(executor, budget, percentile,
+                hedgesCounter(meterRegistry, method, "sent"),
+                hedgesCounter(meterRegistry, method, "won"),
+                hedgesCounter(meterRegistry, method, "throttled"));
+        TimeGauge.builder(HEDGE_DELAY_METRIC, calls, TimeUnit.NANOSECONDS, c -> Math.max(c.getDelayNanos(), 0))
+                .tag("method", method)
+                .register(meterRegistry);
+        return calls;
+    }
+
+    private static Counter hedgesCounter(MeterRegistry meterRegistry, String method, String outcome) {
+        return Counter.builder(HEDGES_METRIC).tag("method", method).tag("outcome", outcome).register(meterRegistry);
+    }
+}
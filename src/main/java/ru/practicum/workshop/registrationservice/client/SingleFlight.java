@@ -0,0 +1,85 @@
+package ru.practicum.workshop.registrationservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadline;
+import ru.practicum.workshop.registrationservice.exception.DeadlineExceededException;
+import ru.practicum.workshop.registrationservice.timing.RequestTimings;
+import ru.practicum.workshop.registrationservice.timing.TimingCategory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Concurrent calls with equal keys share one execution and its result or exception.
+// Results are not kept once the execution completes, a later call executes again.
+class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCalls;
+    private final Counter coalescedCalls;
+
+    SingleFlight(Counter executedCalls, Counter coalescedCalls) {
+        this.executedCalls = executedCalls;
+        this.coalescedCalls = coalescedCalls;
+    }
+
+    V execute(K key, Supplier<V> call) {
+        while (true) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing == null) {
+                return executeShared(key, future, call);
+            }
+
+            coalescedCalls.increment();
+            try {
+                return await(existing);
+            } catch (DeadlineExceededException e) {
+                // The call ran out of the deadline of the executing request, which came before the one of this
+                // request. The call is executed again, possibly by this request.
+                if (RequestDeadline.remainingNanos() <= 0) {
+                    throw e;
+                }
+                inFlight.remove(key, existing);
+            }
+        }
+    }
+
+    private V executeShared(K key, CompletableFuture<V> future, Supplier<V> call) {
+        executedCalls.increment();
+        try {
+            V result = call.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    // The wait is downstream time of the waiting request, the HTTP call is timed on the executing thread only.
+    // A waiting request gives up at its own deadline, which may come before the one of the executing request.
+    private V await(CompletableFuture<V> future) {
+        long start = System.nanoTime();
+        try {
+            return future.get(RequestDeadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw RequestDeadline.exceeded(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw (Error) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrent call.", e);
+        } finally {
+            RequestTimings.record(TimingCategory.DOWNSTREAM, System.nanoTime() - start);
+        }
+    }
+}
@@ -10,7 +10,7 @@ import ru.practicum.workshop.registrationservice.client.config.CustomFeignClient
 import ru.practicum.workshop.registrationservice.dto.NewUserDto;
 import ru.practicum.workshop.registrationservice.client.dto.UpdateUserFromRegistrationDto;
 
-@FeignClient(name = "user-service-client", url = "http://host.docker.internal:8081",
+@FeignClient(name = "user-service-client",
         configuration = CustomFeignClientConfiguration.class
 )
 public interface UserClient {
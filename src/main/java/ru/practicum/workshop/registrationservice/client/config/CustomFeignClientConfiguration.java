@@ -1,14 +1,34 @@
 package ru.practicum.workshop.registrationservice.client.config;
 
+import feign.Client;
+import feign.RequestInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import feign.okhttp.OkHttpClient;
+import ru.practicum.workshop.registrationservice.deadline.DeadlineFeignClient;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadline;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadlineInterceptor;
+import ru.practicum.workshop.registrationservice.timing.TimedFeignClient;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class CustomFeignClientConfiguration {
     @Bean
-    public OkHttpClient client() {
-        return new OkHttpClient();
+    public Client client() {
+        return new TimedFeignClient(new DeadlineFeignClient(new OkHttpClient()));
+    }
+
+    // Other services get the remaining time of the request, so they can stop working on it as well.
+    @Bean
+    public RequestInterceptor requestDeadlineRequestInterceptor() {
+        return template -> {
+            long remainingNanos = RequestDeadline.remainingNanos();
+            if (remainingNanos != Long.MAX_VALUE) {
+                template.header(RequestDeadlineInterceptor.TIMEOUT_HEADER,
+                        String.valueOf(Math.max(0, TimeUnit.NANOSECONDS.toMillis(remainingNanos))));
+            }
+        };
     }
 }
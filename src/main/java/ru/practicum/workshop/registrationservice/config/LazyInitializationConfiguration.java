@@ -0,0 +1,33 @@
+package ru.practicum.workshop.registrationservice.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class LazyInitializationConfiguration {
+    // Beans that no request on the hot path needs, they are created on first use instead of on startup.
+    private static final List<String> LAZY_PACKAGES = List.of("org.springdoc.");
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyInitializationBeanFactoryPostProcessor() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                Class<?> beanType = beanFactory.getType(beanName, false);
+                if (beanType == null || LAZY_PACKAGES.stream().noneMatch(beanType.getName()::startsWith)) {
+                    continue;
+                }
+                // Beans initializing shared state on startup, e.g. the swagger-ui version, must stay eager.
+                if (InitializingBean.class.isAssignableFrom(beanType)
+                        || SmartInitializingSingleton.class.isAssignableFrom(beanType)) {
+                    continue;
+                }
+                beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.workshop.registrationservice.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import ru.practicum.workshop.registrationservice.client.EventClient;
+import ru.practicum.workshop.registrationservice.client.UserClient;
+import ru.practicum.workshop.registrationservice.client.dto.EventRegistrationStatus;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.client.dto.PublicOrgTeamMemberDto;
+import ru.practicum.workshop.registrationservice.client.dto.UpdateUserFromRegistrationDto;
+import ru.practicum.workshop.registrationservice.dto.AuthRegistrationDto;
+import ru.practicum.workshop.registrationservice.dto.AutoApprovalResultDto;
+import ru.practicum.workshop.registrationservice.dto.EventRegistrationsCancellationDto;
+import ru.practicum.workshop.registrationservice.dto.EventSnapshotDto;
+import ru.practicum.workshop.registrationservice.dto.HibernateStatisticsDto;
+import ru.practicum.workshop.registrationservice.dto.NewRegistrationDto;
+import ru.practicum.workshop.registrationservice.dto.NewUserDto;
+import ru.practicum.workshop.registrationservice.dto.PublicRegistrationDto;
+import ru.practicum.workshop.registrationservice.dto.PublicRegistrationStatusDto;
+import ru.practicum.workshop.registrationservice.dto.QueryStatisticsDto;
+import ru.practicum.workshop.registrationservice.dto.RegistrationChangeDto;
+import ru.practicum.workshop.registrationservice.dto.RegistrationSearchDto;
+import ru.practicum.workshop.registrationservice.dto.UpdateRegistrationDto;
+import ru.practicum.workshop.registrationservice.dto.UpdateStatusDto;
+import ru.practicum.workshop.registrationservice.dto.WaitlistPositionDto;
+import ru.practicum.workshop.registrationservice.exception.ApiError;
+import ru.practicum.workshop.registrationservice.mapping.EventSnapshotMapperImpl;
+import ru.practicum.workshop.registrationservice.mapping.RegistrationMapperImpl;
+import ru.practicum.workshop.registrationservice.model.ArchivedRegistration;
+import ru.practicum.workshop.registrationservice.model.EventSnapshot;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChange;
+import ru.practicum.workshop.registrationservice.model.UserRegistrationCount;
+
+import java.util.List;
+
+// Reflection, proxy and resource hints for the native image, types reached only at runtime are listed here.
+public class RegistrationServiceRuntimeHints implements RuntimeHintsRegistrar {
+    // Read and written by Jackson, including bodies of Feign requests and server-sent events.
+    private static final List<Class<?>> DTO_TYPES = List.of(
+            AuthRegistrationDto.class,
+            AutoApprovalResultDto.class,
+            EventRegistrationsCancellationDto.class,
+            EventSnapshotDto.class,
+            HibernateStatisticsDto.class,
+            NewRegistrationDto.class,
+            NewUserDto.class,
+            PublicRegistrationDto.class,
+            PublicRegistrationStatusDto.class,
+            QueryStatisticsDto.class,
+            RegistrationChangeDto.class,
+            RegistrationSearchDto.class,
+            UpdateRegistrationDto.class,
+            UpdateStatusDto.class,
+            WaitlistPositionDto.class,
+            EventRegistrationStatus.class,
+            EventResponse.class,
+            PublicOrgTeamMemberDto.class,
+            UpdateUserFromRegistrationDto.class,
+            ApiError.class);
+    private static final List<Class<?>> ENTITY_TYPES = List.of(
+            ArchivedRegistration.class,
+            EventSnapshot.class,
+            Registration.class,
+            RegistrationChange.class,
+            UserRegistrationCount.class);
+    private static final List<Class<?>> FEIGN_CLIENT_TYPES = List.of(
+            EventClient.class,
+            UserClient.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                DTO_TYPES.toArray(Class<?>[]::new));
+
+        ENTITY_TYPES.forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+
+        List.of(RegistrationMapperImpl.class, EventSnapshotMapperImpl.class).forEach(type ->
+                hints.reflection().registerType(type,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        // Feign reads the mapping annotations of client methods and implements clients as JDK proxies.
+        FEIGN_CLIENT_TYPES.forEach(type -> {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.proxies().registerJdkProxy(type);
+        });
+
+        hints.resources().registerPattern("db/migration/*.sql");
+        hints.resources().registerPattern("db/vendor/*/*.sql");
+        hints.resources().registerPattern("ehcache.xml");
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.workshop.registrationservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadlineInterceptor;
+
+// Feign clients are limited by the deadline in CustomFeignClientConfiguration.
+@Configuration
+@RequiredArgsConstructor
+public class RequestDeadlineConfiguration implements WebMvcConfigurer {
+    private final RequestDeadlineInterceptor requestDeadlineInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestDeadlineInterceptor);
+    }
+}
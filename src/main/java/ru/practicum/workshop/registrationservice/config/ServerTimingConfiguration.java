@@ -0,0 +1,38 @@
+package ru.practicum.workshop.registrationservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.practicum.workshop.registrationservice.timing.RequestTimings;
+import ru.practicum.workshop.registrationservice.timing.TimedMappingJackson2HttpMessageConverter;
+import ru.practicum.workshop.registrationservice.timing.TimingCategory;
+
+import java.util.concurrent.TimeUnit;
+
+// Feeds the Server-Timing header, Feign clients are timed in CustomFeignClientConfiguration.
+@Configuration
+public class ServerTimingConfiguration {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedMappingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryTimingBeanPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                            repositoryFactory.addInvocationListener(invocation -> RequestTimings.record(
+                                    TimingCategory.DB, invocation.getDuration(TimeUnit.NANOSECONDS))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,15 +1,29 @@
 package ru.practicum.workshop.registrationservice.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.workshop.registrationservice.deadline.RequestTimeout;
 import ru.practicum.workshop.registrationservice.dto.*;
+import ru.practicum.workshop.registrationservice.service.EventSnapshotService;
+import ru.practicum.workshop.registrationservice.service.HibernateStatisticsService;
+import ru.practicum.workshop.registrationservice.service.RegistrationCancellationService;
+import ru.practicum.workshop.registrationservice.service.RegistrationChangeService;
 import ru.practicum.workshop.registrationservice.service.RegistrationService;
+import ru.practicum.workshop.registrationservice.stream.RegistrationStreamService;
 
 import java.util.List;
 import java.util.Map;
@@ -23,63 +37,149 @@ public class RegistrationController {
 
     private final RegistrationService registrationService;
 
+    private final RegistrationStreamService registrationStreamService;
+
+    private final RegistrationChangeService registrationChangeService;
+
+    private final HibernateStatisticsService hibernateStatisticsService;
+
+    private final EventSnapshotService eventSnapshotService;
+
+    private final RegistrationCancellationService registrationCancellationService;
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public AuthRegistrationDto createRegistration(@RequestBody @Valid NewRegistrationDto newRegistrationDto) {
-        log.info("Request: create registration, newRegistrationDto={}", newRegistrationDto);
+        log.debug("Request: create registration for event id={}", newRegistrationDto.getEventId());
         return registrationService.createRegistration(newRegistrationDto);
     }
 
     @PatchMapping
     public PublicRegistrationDto updateRegistrationData(@RequestBody @Valid UpdateRegistrationDto updateRegistrationDto) {
-        log.info("Request: update registration data, updateRegistrationDto={}", updateRegistrationDto);
+        log.debug("Request: update registration data, id={}", updateRegistrationDto.getId());
         return registrationService.updateRegistrationData(updateRegistrationDto);
     }
 
     @DeleteMapping
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteRegistration(@RequestBody @Valid AuthRegistrationDto authRegistrationDto) {
-        log.info("Request: delete registration, authRegistrationDto={}", authRegistrationDto);
+        log.debug("Request: delete registration, id={}", authRegistrationDto.getId());
         registrationService.deleteRegistration(authRegistrationDto);
     }
 
     @GetMapping("/{registrationId}")
     public PublicRegistrationDto getRegistration(@PathVariable @Positive Long registrationId) {
-        log.info("Request: get registration by id={}", registrationId);
+        log.debug("Request: get registration by id={}", registrationId);
         return registrationService.getRegistration(registrationId);
     }
 
+    @GetMapping("/{registrationId}/waitlist-position")
+    public WaitlistPositionDto getWaitlistPosition(@PathVariable @Positive Long registrationId) {
+        log.debug("Request: get waiting list position of registration id={}", registrationId);
+        return registrationService.getWaitlistPosition(registrationId);
+    }
+
     @GetMapping
     public List<PublicRegistrationDto> getRegistrations(@RequestParam("eventId") @Positive Long eventId,
                                                         Pageable pageable) {
-        log.info("Request: get all registrations for event id={}, page={}, size={}",
+        log.debug("Request: get all registrations for event id={}, page={}, size={}",
                 eventId, pageable.getPageNumber(), pageable.getPageSize());
         return registrationService.getRegistrations(eventId, pageable);
     }
 
+    @GetMapping("/search")
+    public List<RegistrationSearchDto> searchRegistrations(@RequestParam("eventId") @Positive Long eventId,
+                                                           @RequestParam("q") @NotBlank @Size(max = 64) String query,
+                                                           @RequestParam(value = "after", defaultValue = "0") @PositiveOrZero Long after,
+                                                           @RequestParam(value = "limit", defaultValue = "20") @Positive @Max(100) int limit) {
+        log.debug("Request: search registrations of event id={} after id={}, limit {}", eventId, after, limit);
+        return registrationService.searchRegistrations(eventId, query, after, limit);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRegistrationChanges(@RequestParam("eventId") @Positive Long eventId) {
+        log.debug("Request: stream registration changes for event id={}", eventId);
+        return registrationStreamService.subscribe(eventId);
+    }
+
     @PatchMapping("/status")
     public PublicRegistrationStatusDto updateRegistrationStatus(@RequestHeader(name = "X-User-Id") Long requesterId,
                                                                 @RequestBody @Valid UpdateStatusDto updateStatusDto) {
-        log.info("Request: update registration status {}", updateStatusDto);
+        log.debug("Request: update status of registration id={} to {}", updateStatusDto.getId(), updateStatusDto.getStatus());
         return registrationService.updateRegistrationStatus(requesterId, updateStatusDto);
     }
 
+    @PatchMapping("/status/auto-approve")
+    public AutoApprovalResultDto approvePendingRegistrations(@RequestHeader(name = "X-User-Id") Long requesterId,
+                                                             @RequestParam("eventId") @Positive Long eventId) {
+        log.debug("Request: approve pending registrations of event id={} up to its limit", eventId);
+        return registrationService.approvePendingRegistrations(requesterId, eventId);
+    }
+
     @GetMapping("/status/{eventId}")
     public List<PublicRegistrationStatusDto> getRegistrationsByStatusAndEventId(@PathVariable @Positive Long eventId,
                                                                                 @RequestParam(value = "status") List<String> statuses) {
-        log.info("Request: get registrations with statuses {} and eventId {}", statuses, eventId);
+        log.debug("Request: get registrations with statuses {} and eventId {}", statuses, eventId);
         return registrationService.getRegistrationsWithStatusesAndEventId(eventId, statuses);
     }
 
     @GetMapping("/status/count")
     public Map<String, Long> countByStatus(@RequestParam("eventId") @Positive Long eventId) {
-        log.info("Request: get count registrations with eventId {}", eventId);
+        log.debug("Request: get count registrations with eventId {}", eventId);
         return registrationService.countRegistrationsByStatus(eventId);
     }
 
+    @GetMapping("/status/count/bulk")
+    public Map<Long, Map<String, Long>> countByStatusForEvents(@RequestParam("eventIds") @NotEmpty List<@Positive Long> eventIds) {
+        log.debug("Request: get count registrations for {} events", eventIds.size());
+        return registrationService.countRegistrationsByStatus(eventIds);
+    }
+
     @GetMapping("/internal/status-of-registration/{eventId}")
     public String getStatusOfRegistration(@PathVariable @Positive Long eventId,
                                           @RequestHeader("X-Review-User-Id") Long userId) {
         return registrationService.getStatusOfRegistration(eventId, userId);
     }
+
+    @PostMapping("/internal/status-of-registration/{eventId}/batch")
+    public Map<Long, String> getStatusesOfRegistrations(@PathVariable @Positive Long eventId,
+                                                        @RequestBody @NotEmpty List<@NotNull Long> userIds) {
+        log.debug("Request: get statuses of {} registrations with eventId {}", userIds.size(), eventId);
+        return registrationService.getStatusesOfRegistrations(eventId, userIds);
+    }
+
+    @GetMapping("/internal/changes")
+    public List<RegistrationChangeDto> getChanges(@RequestParam(value = "since", defaultValue = "0") @PositiveOrZero Long since,
+                                                  @RequestParam(value = "limit", defaultValue = "100") @Positive @Max(1000) int limit) {
+        log.debug("Request: get registration changes since {}, limit {}", since, limit);
+        return registrationChangeService.getChanges(since, limit);
+    }
+
+    @PutMapping("/internal/events/{eventId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void saveEventSnapshot(@PathVariable @Positive Long eventId,
+                                  @RequestBody @Valid EventSnapshotDto eventSnapshotDto) {
+        log.debug("Request: save snapshot of event id={}", eventId);
+        eventSnapshotService.saveEvent(eventId, eventSnapshotDto);
+    }
+
+    @DeleteMapping("/internal/events/{eventId}/registrations")
+    @RequestTimeout(millis = 0)
+    public EventRegistrationsCancellationDto cancelRegistrationsOfEvent(@PathVariable @Positive Long eventId) {
+        log.debug("Request: cancel all registrations of event id={}", eventId);
+        return registrationCancellationService.cancelRegistrationsOfEvent(eventId);
+    }
+
+    @GetMapping("/internal/statistics")
+    public HibernateStatisticsDto getStatistics() {
+        log.debug("Request: get hibernate statistics");
+        return hibernateStatisticsService.getStatistics();
+    }
+
+    @DeleteMapping("/internal/statistics")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void resetStatistics() {
+        log.debug("Request: reset hibernate statistics");
+        hibernateStatisticsService.resetStatistics();
+    }
 }
@@ -0,0 +1,39 @@
+package ru.practicum.workshop.registrationservice.deadline;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+// Limits the connect and read timeouts of a call to the remaining time of the request deadline.
+@RequiredArgsConstructor
+public class DeadlineFeignClient implements Client {
+    private final Client delegate;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long remainingNanos = RequestDeadline.remainingNanos();
+        if (remainingNanos == Long.MAX_VALUE) {
+            return delegate.execute(request, options);
+        }
+        RequestDeadline.check();
+
+        long remainingMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+        Request.Options deadlineOptions = new Request.Options(
+                Math.min(options.connectTimeoutMillis(), remainingMs), TimeUnit.MILLISECONDS,
+                Math.min(options.readTimeoutMillis(), remainingMs), TimeUnit.MILLISECONDS,
+                options.isFollowRedirects());
+        try {
+            return delegate.execute(request, deadlineOptions);
+        } catch (InterruptedIOException e) {
+            if (RequestDeadline.remainingNanos() <= 0) {
+                throw RequestDeadline.exceeded(e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.workshop.registrationservice.deadline;
+
+import ru.practicum.workshop.registrationservice.exception.DeadlineExceededException;
+
+import java.util.function.Supplier;
+
+// Time by which the current request must be answered, set by RequestDeadlineInterceptor. Calls to other services
+// are limited to the remaining time and are not sent at all once it is spent.
+public final class RequestDeadline {
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(long timeoutMs) {
+        CURRENT.set(System.nanoTime() + timeoutMs * 1_000_000);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // Long.MAX_VALUE without a deadline, e.g. on scheduler threads.
+    public static long remainingNanos() {
+        Long deadlineNanos = CURRENT.get();
+        return deadlineNanos == null ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+    }
+
+    public static void check() {
+        if (remainingNanos() <= 0) {
+            throw exceeded(null);
+        }
+    }
+
+    public static DeadlineExceededException exceeded(Throwable cause) {
+        return new DeadlineExceededException("Request deadline exceeded before the response was ready.", cause);
+    }
+
+    // The deadline of the calling thread applies to the call when it is executed by another thread.
+    public static <V> Supplier<V> propagate(Supplier<V> call) {
+        Long deadlineNanos = CURRENT.get();
+        return () -> {
+            Long previous = CURRENT.get();
+            setCurrent(deadlineNanos);
+            try {
+                return call.get();
+            } finally {
+                setCurrent(previous);
+            }
+        };
+    }
+
+    private static void setCurrent(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadlineNanos);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.workshop.registrationservice.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// Starts the deadline of a request from its X-Request-Timeout-Ms header, or from the default of the endpoint.
+@Component
+@Slf4j
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final long defaultTimeoutMs;
+    private final long maxTimeoutMs;
+
+    public RequestDeadlineInterceptor(@Value("${registration.deadline.default-timeout-ms}") long defaultTimeoutMs,
+                                      @Value("${registration.deadline.max-timeout-ms}") long maxTimeoutMs) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.maxTimeoutMs = maxTimeoutMs;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long timeoutMs = headerTimeoutMs(request);
+        if (timeoutMs == null) {
+            RequestTimeout requestTimeout = handler instanceof HandlerMethod handlerMethod
+                    ? handlerMethod.getMethodAnnotation(RequestTimeout.class) : null;
+            long endpointTimeoutMs = requestTimeout != null ? requestTimeout.millis() : defaultTimeoutMs;
+            timeoutMs = endpointTimeoutMs > 0 ? endpointTimeoutMs : null;
+        }
+        if (timeoutMs != null) {
+            RequestDeadline.start(timeoutMs);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        RequestDeadline.clear();
+    }
+
+    // A timeout of 0 or less means that the caller has already given up, the request fails on its first call.
+    // Larger timeouts than the maximum are cut to it, the deadline of a huge one would overflow.
+    private Long headerTimeoutMs(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Math.max(0, Math.min(Long.parseLong(header.trim()), maxTimeoutMs));
+        } catch (NumberFormatException e) {
+            log.debug("Ignored invalid {} header: {}", TIMEOUT_HEADER, header);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.workshop.registrationservice.deadline;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Default deadline of an endpoint instead of registration.deadline.default-timeout-ms, 0 for no deadline.
+// The X-Request-Timeout-Ms header of a request takes precedence.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestTimeout {
+    long millis();
+}
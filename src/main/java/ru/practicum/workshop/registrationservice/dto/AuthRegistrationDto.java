@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import static ru.practicum.workshop.registrationservice.dto.RegistrationDtoValidationConstants.*;
 
@@ -20,6 +21,7 @@ public class AuthRegistrationDto {
     private Long id;
 
     @NotNull(message = PASSWORD_NOT_NULL_ERROR_MESSAGE)
+    @ToString.Exclude
     private String password;
 
 }
@@ -0,0 +1,20 @@
+package ru.practicum.workshop.registrationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoApprovalResultDto {
+
+    private Long eventId;
+
+    private int approved;
+
+    private int waiting;
+
+}
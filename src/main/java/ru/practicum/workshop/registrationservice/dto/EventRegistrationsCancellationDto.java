@@ -0,0 +1,25 @@
+package ru.practicum.workshop.registrationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventRegistrationsCancellationDto {
+
+    private Long eventId;
+
+    private long cancelledRegistrations;
+
+    private long deletedUsers;
+
+    // Users left without registrations whose deletion failed in user-service.
+    private List<Long> failedUserDeletions;
+
+}
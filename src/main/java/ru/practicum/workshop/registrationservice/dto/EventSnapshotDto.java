@@ -0,0 +1,39 @@
+package ru.practicum.workshop.registrationservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.workshop.registrationservice.client.dto.EventRegistrationStatus;
+
+import java.time.LocalDateTime;
+
+// Fields of an event pushed by event-service, other fields of the event are ignored.
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSnapshotDto {
+    @NotNull
+    @Positive
+    private Long ownerId;
+
+    @NotNull
+    private EventRegistrationStatus registrationStatus;
+
+    private boolean isLimited;
+
+    @PositiveOrZero
+    private Integer participantLimit;
+
+    @NotNull
+    private LocalDateTime startDateTime;
+
+    @NotNull
+    private LocalDateTime endDateTime;
+}
@@ -0,0 +1,33 @@
+package ru.practicum.workshop.registrationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HibernateStatisticsDto {
+
+    private boolean statisticsEnabled;
+
+    private Instant collectedSince;
+
+    private long prepareStatementCount;
+
+    private long queryExecutionCount;
+
+    private long entityLoadCount;
+
+    private List<QueryStatisticsDto> queries;
+
+    // Slowest execution time in milliseconds of each statement over the slow query threshold.
+    private Map<String, Long> slowQueries;
+
+}
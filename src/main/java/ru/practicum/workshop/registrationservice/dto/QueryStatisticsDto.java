@@ -0,0 +1,26 @@
+package ru.practicum.workshop.registrationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryStatisticsDto {
+
+    private String query;
+
+    private long executionCount;
+
+    private long executionRowCount;
+
+    private long executionMaxTimeMs;
+
+    private double executionMeanTimeMs;
+
+    private long executionTotalTimeMs;
+
+}
@@ -0,0 +1,31 @@
+package ru.practicum.workshop.registrationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationChangeDto {
+
+    private Long sequenceNumber;
+
+    private Long registrationId;
+
+    private Long eventId;
+
+    private Long userId;
+
+    private String registrationStatus;
+
+    private RegistrationChangeType changeType;
+
+    private LocalDateTime changedAt;
+
+}
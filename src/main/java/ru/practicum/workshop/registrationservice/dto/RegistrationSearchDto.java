@@ -0,0 +1,27 @@
+package ru.practicum.workshop.registrationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationSearchDto {
+
+    // Passed back as "after" to continue the search.
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private String phone;
+
+    private Long eventId;
+
+    private String registrationStatus;
+
+}
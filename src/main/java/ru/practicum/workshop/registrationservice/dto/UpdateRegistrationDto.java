@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import static ru.practicum.workshop.registrationservice.dto.RegistrationDtoValidationConstants.*;
 
@@ -19,6 +20,7 @@ public class UpdateRegistrationDto {
     private Long id;
 
     @NotNull(message = PASSWORD_NOT_NULL_ERROR_MESSAGE)
+    @ToString.Exclude
     private String password;
 
     @Pattern(regexp = NAME_PATTERN_REGEXP, message = NAME_PATTERN_ERROR_MESSAGE)
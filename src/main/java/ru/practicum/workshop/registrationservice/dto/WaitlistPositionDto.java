@@ -0,0 +1,21 @@
+package ru.practicum.workshop.registrationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPositionDto {
+
+    private Long registrationId;
+
+    private Long eventId;
+
+    // Starts from 1, the registration at position 1 is promoted first.
+    private long position;
+
+}
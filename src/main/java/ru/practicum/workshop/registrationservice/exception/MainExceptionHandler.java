@@ -6,6 +6,7 @@ import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.stream.Collectors;
 
+// Client errors are part of normal traffic and logged at debug level, unexpected errors are logged with the cause.
 @RestControllerAdvice
 @Slf4j
 public class MainExceptionHandler {
@@ -26,7 +28,7 @@ public class MainExceptionHandler {
     public ApiError handleAuthenticationException(AuthenticationException exception) {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -36,7 +38,7 @@ public class MainExceptionHandler {
     public ApiError handleConflictException(ConflictException exception) {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -46,7 +48,18 @@ public class MainExceptionHandler {
     public ApiError handleConstraintViolationException(ConstraintViolationException exception) {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
+
+        return apiError;
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiError handleOptimisticLockingFailureException(OptimisticLockingFailureException exception) {
+        ApiError apiError = new ApiError(exception.getClass().getSimpleName(),
+                "Registration was changed concurrently, please retry");
+
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -64,7 +77,7 @@ public class MainExceptionHandler {
             apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
         }
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -74,7 +87,7 @@ public class MainExceptionHandler {
     public ApiError handleEntityNotFoundException(EntityNotFoundException exception) {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -84,7 +97,7 @@ public class MainExceptionHandler {
     public ApiError handleEntityValidationException(EntityValidationException exception) {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -95,7 +108,17 @@ public class MainExceptionHandler {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(),
                 exception.getBindingResult().getFieldErrors().stream().map(FieldError::getDefaultMessage).collect(Collectors.joining(" ")));
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
+
+        return apiError;
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ApiError handleDeadlineExceededException(DeadlineExceededException exception) {
+        ApiError apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
+
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -104,7 +127,7 @@ public class MainExceptionHandler {
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiError handleFeignExceptionNotFound(final FeignException.NotFound e) {
         ApiError apiError = new ApiError(e.getClass().getSimpleName(), e.getMessage());
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
         return apiError;
     }
 
@@ -113,7 +136,7 @@ public class MainExceptionHandler {
     public ApiError handleMethodArgumentValidationException(ValidationException exception) {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -123,7 +146,7 @@ public class MainExceptionHandler {
     public ApiError handleMissingRequestHeaderException(MissingRequestHeaderException exception) {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -134,7 +157,7 @@ public class MainExceptionHandler {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(),
                 String.format("Missing required parameter: %s", exception.getParameterName()));
 
-        log.info("Exception handled: {}", apiError);
+        log.debug("Exception handled: {}", apiError);
 
         return apiError;
     }
@@ -144,7 +167,7 @@ public class MainExceptionHandler {
     public ApiError handleException(Exception exception) {
         ApiError apiError = new ApiError(exception.getClass().getSimpleName(), exception.getMessage());
 
-        log.info("Exception handled: {}", apiError);
+        log.error("Exception handled: {}", apiError, exception);
 
         return apiError;
     }
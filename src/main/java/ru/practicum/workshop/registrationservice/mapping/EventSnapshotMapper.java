@@ -0,0 +1,25 @@
+package ru.practicum.workshop.registrationservice.mapping;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.dto.EventSnapshotDto;
+import ru.practicum.workshop.registrationservice.model.EventSnapshot;
+
+import java.time.LocalDateTime;
+
+@Mapper(componentModel = "spring")
+public interface EventSnapshotMapper {
+
+    @Mapping(target = "eventId", source = "eventResponse.id")
+    EventSnapshot toEventSnapshot(EventResponse eventResponse, LocalDateTime syncedAt);
+
+    EventSnapshot toEventSnapshot(Long eventId, EventSnapshotDto eventSnapshotDto, LocalDateTime syncedAt);
+
+    @Mapping(target = "id", source = "eventId")
+    @Mapping(target = "name", ignore = true)
+    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "location", ignore = true)
+    @Mapping(target = "createdDateTime", ignore = true)
+    EventResponse toEventResponse(EventSnapshot eventSnapshot);
+}
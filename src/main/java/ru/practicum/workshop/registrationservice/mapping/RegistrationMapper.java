@@ -2,7 +2,10 @@ package ru.practicum.workshop.registrationservice.mapping;
 
 import org.mapstruct.*;
 import ru.practicum.workshop.registrationservice.dto.*;
+import ru.practicum.workshop.registrationservice.model.ArchivedRegistration;
 import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChange;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,11 +13,13 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface RegistrationMapper {
 
+    @Mapping(target = "version", ignore = true)
     Registration toRegistration(NewRegistrationDto newRegistrationDto, String password, String registrationStatus,
                                 LocalDateTime createdAt);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "password", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     Registration updateRegistrationData(@MappingTarget Registration registration, UpdateRegistrationDto updateRegistrationDto);
 
@@ -24,6 +29,8 @@ public interface RegistrationMapper {
 
     List<PublicRegistrationDto> toPublicRegistrationDto(List<Registration> registrationList);
 
+    PublicRegistrationDto toPublicRegistrationDto(ArchivedRegistration archivedRegistration);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     PublicRegistrationStatusDto toStatusRegistrationDtoWithoutReason(Registration registration);
 
@@ -32,4 +39,14 @@ public interface RegistrationMapper {
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     List<PublicRegistrationStatusDto> toListStatusRegistrationDto(List<Registration> registrations);
+
+    @Mapping(target = "id", source = "sequenceNumber")
+    @Mapping(target = "registrationId", source = "registration.id")
+    RegistrationChange toRegistrationChange(Registration registration, Long sequenceNumber,
+                                            RegistrationChangeType changeType, LocalDateTime changedAt);
+
+    @Mapping(target = "sequenceNumber", source = "id")
+    RegistrationChangeDto toRegistrationChangeDto(RegistrationChange registrationChange);
+
+    List<RegistrationChangeDto> toRegistrationChangeDto(List<RegistrationChange> registrationChanges);
 }
@@ -0,0 +1,44 @@
+package ru.practicum.workshop.registrationservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.practicum.workshop.registrationservice.client.dto.EventRegistrationStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "event_snapshots")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class EventSnapshot {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "registration_status")
+    private EventRegistrationStatus registrationStatus;
+
+    @Column(name = "is_limited")
+    private boolean limited;
+
+    @Column(name = "participant_limit")
+    private Integer participantLimit;
+
+    @Column(name = "start_date_time")
+    private LocalDateTime startDateTime;
+
+    @Column(name = "end_date_time")
+    private LocalDateTime endDateTime;
+
+    @Column(name = "synced_at")
+    private LocalDateTime syncedAt;
+}
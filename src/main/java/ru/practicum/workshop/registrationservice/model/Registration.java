@@ -2,10 +2,23 @@ package ru.practicum.workshop.registrationservice.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
+// Second-level cache policy for all writes of registrations:
+// - Changes of loaded entities, e.g. a save or delete by id, evict the entries of the changed registrations only.
+// - Bulk and native statements on registrations evict the whole region. They are kept to set-based changes of
+//   the registrations of one event and to batch jobs, where loading each row would cost more than the cache saves.
+// - Native statements on other tables name their table as query space, otherwise they evict every region.
+// - Any write to registrations invalidates the cached query results on the table.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Updates write the changed columns only, e.g. a new phone number, status or version.
+@DynamicUpdate
 @Table(name = "registrations")
 @Getter
 @Setter
@@ -41,5 +54,10 @@ public class Registration {
     private LocalDateTime createdAt;
 
     @Column(name = "password")
+    @ToString.Exclude
     private String password;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
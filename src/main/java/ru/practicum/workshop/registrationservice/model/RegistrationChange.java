@@ -0,0 +1,46 @@
+package ru.practicum.workshop.registrationservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "registration_changes")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class RegistrationChange implements Persistable<Long> {
+
+    // Assigned from registration_change_sequence, changes are never updated.
+    @Id
+    private Long id;
+
+    @Column(name = "registration_id")
+    private Long registrationId;
+
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "registration_status")
+    private String registrationStatus;
+
+    @Column(name = "change_type")
+    @Enumerated(EnumType.STRING)
+    private RegistrationChangeType changeType;
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
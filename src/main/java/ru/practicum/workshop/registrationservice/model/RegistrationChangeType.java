@@ -0,0 +1,9 @@
+package ru.practicum.workshop.registrationservice.model;
+
+public enum RegistrationChangeType {
+
+    CREATED,
+    UPDATED,
+    DELETED
+
+}
@@ -0,0 +1,22 @@
+package ru.practicum.workshop.registrationservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "user_registration_counts")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class UserRegistrationCount {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "registrations_count")
+    private Long registrationsCount;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.workshop.registrationservice.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.workshop.registrationservice.model.ArchivedRegistration;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ArchivedRegistrationRepository extends JpaRepository<ArchivedRegistration, Long> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "registrations_archive"))
+    @Query(value = "INSERT INTO registrations_archive (id, name, email, phone, event_id, password, created_at, " +
+            "registration_status, user_id, version, archived_at) " +
+            "SELECT id, name, email, phone, event_id, password, created_at, registration_status, user_id, version, " +
+            ":archivedAt FROM registrations WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyRegistrationsToArchive(Collection<Long> ids, LocalDateTime archivedAt);
+}
@@ -0,0 +1,7 @@
+package ru.practicum.workshop.registrationservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.workshop.registrationservice.model.EventSnapshot;
+
+public interface EventSnapshotRepository extends JpaRepository<EventSnapshot, Long>, EventSnapshotRepositoryCustom {
+}
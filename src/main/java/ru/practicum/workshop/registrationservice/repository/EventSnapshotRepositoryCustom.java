@@ -0,0 +1,10 @@
+package ru.practicum.workshop.registrationservice.repository;
+
+import ru.practicum.workshop.registrationservice.model.EventSnapshot;
+
+public interface EventSnapshotRepositoryCustom {
+
+    // Pushes and pulls of one event may be concurrent, an upsert never fails on the primary key. A snapshot synced
+    // before the stored one is ignored, e.g. a pull started before a push must not overwrite the pushed status.
+    void upsert(EventSnapshot snapshot);
+}
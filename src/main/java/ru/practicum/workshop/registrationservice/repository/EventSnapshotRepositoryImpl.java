@@ -0,0 +1,57 @@
+package ru.practicum.workshop.registrationservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import ru.practicum.workshop.registrationservice.model.EventSnapshot;
+
+import java.time.LocalDateTime;
+
+// PostgreSQL 14 has no MERGE, so it gets INSERT ... ON CONFLICT. Other databases get the standard MERGE.
+public class EventSnapshotRepositoryImpl implements EventSnapshotRepositoryCustom {
+    private static final String POSTGRESQL_UPSERT =
+            "INSERT INTO event_snapshots (event_id, owner_id, registration_status, is_limited, " +
+            "participant_limit, start_date_time, end_date_time, synced_at) " +
+            "VALUES (:eventId, :ownerId, :registrationStatus, :limited, :participantLimit, " +
+            ":startDateTime, :endDateTime, :syncedAt) " +
+            "ON CONFLICT (event_id) DO UPDATE SET owner_id = EXCLUDED.owner_id, " +
+            "registration_status = EXCLUDED.registration_status, is_limited = EXCLUDED.is_limited, " +
+            "participant_limit = EXCLUDED.participant_limit, start_date_time = EXCLUDED.start_date_time, " +
+            "end_date_time = EXCLUDED.end_date_time, synced_at = EXCLUDED.synced_at " +
+            "WHERE event_snapshots.synced_at <= EXCLUDED.synced_at";
+    private static final String MERGE_UPSERT =
+            "MERGE INTO event_snapshots t USING (VALUES (:eventId, :ownerId, :registrationStatus, :limited, " +
+            ":participantLimit, :startDateTime, :endDateTime, :syncedAt)) " +
+            "s (event_id, owner_id, registration_status, is_limited, participant_limit, start_date_time, " +
+            "end_date_time, synced_at) ON t.event_id = s.event_id " +
+            "WHEN MATCHED AND t.synced_at <= s.synced_at THEN UPDATE SET owner_id = s.owner_id, " +
+            "registration_status = s.registration_status, is_limited = s.is_limited, " +
+            "participant_limit = s.participant_limit, start_date_time = s.start_date_time, " +
+            "end_date_time = s.end_date_time, synced_at = s.synced_at " +
+            "WHEN NOT MATCHED THEN INSERT (event_id, owner_id, registration_status, is_limited, " +
+            "participant_limit, start_date_time, end_date_time, synced_at) " +
+            "VALUES (s.event_id, s.owner_id, s.registration_status, s.is_limited, s.participant_limit, " +
+            "s.start_date_time, s.end_date_time, s.synced_at)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Parameters are bound with their types, so that nulls are typed in the VALUES list of MERGE as well.
+    @Override
+    public void upsert(EventSnapshot snapshot) {
+        entityManager.createNativeQuery(NativeDialects.isPostgreSql(entityManager) ? POSTGRESQL_UPSERT : MERGE_UPSERT)
+                .unwrap(NativeQuery.class)
+                .setParameter("eventId", snapshot.getEventId(), Long.class)
+                .setParameter("ownerId", snapshot.getOwnerId(), Long.class)
+                .setParameter("registrationStatus", snapshot.getRegistrationStatus() == null
+                        ? null : snapshot.getRegistrationStatus().name(), String.class)
+                .setParameter("limited", snapshot.isLimited(), Boolean.class)
+                .setParameter("participantLimit", snapshot.getParticipantLimit(), Integer.class)
+                .setParameter("startDateTime", snapshot.getStartDateTime(), LocalDateTime.class)
+                .setParameter("endDateTime", snapshot.getEndDateTime(), LocalDateTime.class)
+                .setParameter("syncedAt", snapshot.getSyncedAt(), LocalDateTime.class)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "event_snapshots")
+                .executeUpdate();
+    }
+}
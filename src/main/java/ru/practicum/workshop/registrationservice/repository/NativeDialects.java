@@ -0,0 +1,17 @@
+package ru.practicum.workshop.registrationservice.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+// Native statements that differ between PostgreSQL and the H2 database of the ci and test profiles.
+final class NativeDialects {
+
+    private NativeDialects() {
+    }
+
+    static boolean isPostgreSql(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.workshop.registrationservice.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.workshop.registrationservice.model.RegistrationChange;
+
+import java.util.List;
+
+public interface RegistrationChangeRepository extends JpaRepository<RegistrationChange, Long> {
+
+    List<RegistrationChange> findAllByIdGreaterThanOrderById(Long since, Limit limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "registration_change_sequence"))
+    @Query(value = "UPDATE registration_change_sequence SET last_value = last_value + :count", nativeQuery = true)
+    void reserveSequenceNumbers(long count);
+
+    @Query(value = "SELECT last_value FROM registration_change_sequence", nativeQuery = true)
+    long getLastSequenceNumber();
+}
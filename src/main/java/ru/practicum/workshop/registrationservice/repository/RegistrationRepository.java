@@ -1,29 +1,104 @@
 package ru.practicum.workshop.registrationservice.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.workshop.registrationservice.dto.PublicRegistrationDto;
+import ru.practicum.workshop.registrationservice.dto.PublicRegistrationStatusDto;
+import ru.practicum.workshop.registrationservice.dto.RegistrationSearchDto;
 import ru.practicum.workshop.registrationservice.model.Registration;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
 
-    List<Registration> findAllByEventId(Long eventId, Pageable pageable);
+    // Projections select only exposed columns, so no entities (and no password) reach the persistence context.
+    @Query("SELECT new ru.practicum.workshop.registrationservice.dto.PublicRegistrationDto(" +
+            "r.name, r.email, r.phone, r.eventId) " +
+            "FROM Registration r WHERE r.eventId = :eventId")
+    List<PublicRegistrationDto> findPublicRegistrationsByEventId(Long eventId, Pageable pageable);
 
-    Optional<Registration> findFirstByRegistrationStatusOrderByCreatedAtAsc(String status);
+    @Query("SELECT new ru.practicum.workshop.registrationservice.dto.PublicRegistrationStatusDto(" +
+            "r.name, r.email, r.phone, r.eventId, r.registrationStatus, r.createdAt, CAST(NULL AS String)) " +
+            "FROM Registration r WHERE r.eventId = :eventId AND r.registrationStatus IN :statuses " +
+            "ORDER BY r.createdAt")
+    List<PublicRegistrationStatusDto> findStatusRegistrationsByEventIdAndStatuses(Long eventId,
+                                                                                 Collection<String> statuses);
 
-    List<Registration> findAllByEventIdAndRegistrationStatusInOrderByCreatedAt(Long eventId, List<String> statuses);
+    // Prefix conditions match the functional indexes on (event_id, lower(name)), (event_id, lower(email))
+    // and (event_id, phone), the prefix is lower-cased with LIKE wildcards escaped by the caller.
+    // "r.id + 0" hides the keyset column from the primary key index. Otherwise the planner may walk the primary key
+    // from "after" and filter every row, which reads the whole table when the prefix is rare in this event.
+    @Query("SELECT new ru.practicum.workshop.registrationservice.dto.RegistrationSearchDto(" +
+            "r.id, r.name, r.email, r.phone, r.eventId, r.registrationStatus) " +
+            "FROM Registration r WHERE r.eventId = :eventId AND r.id + 0 > :after " +
+            "AND (LOWER(r.name) LIKE :prefix ESCAPE '\\' OR LOWER(r.email) LIKE :prefix ESCAPE '\\' " +
+            "OR r.phone LIKE :prefix ESCAPE '\\') " +
+            "ORDER BY r.id + 0")
+    List<RegistrationSearchDto> searchByEventIdAndPrefix(Long eventId, String prefix, Long after, Limit limit);
+
+    // Served by the unique index on (event_id, lower(email)).
+    @Query("SELECT COUNT(r) > 0 FROM Registration r WHERE r.eventId = :eventId AND LOWER(r.email) = LOWER(:email)")
+    boolean existsByEventIdAndEmailIgnoreCase(Long eventId, String email);
+
+    // Served by the index on lower(email), the latest registration tells the current user of the email.
+    @Query("SELECT r.userId FROM Registration r WHERE LOWER(r.email) = LOWER(:email) ORDER BY r.id DESC")
+    List<Long> findUserIdsByEmail(String email, Limit limit);
+
+    // Ties on created_at are broken by id, the order of countRegistrationsAhead.
+    Optional<Registration> findFirstByEventIdAndRegistrationStatusOrderByCreatedAtAscIdAsc(Long eventId, String status);
 
     @Query(value = "SELECT registration_status, COUNT(*) FROM registrations WHERE event_id = :eventId group by registration_status",
             nativeQuery = true)
     List<Object[]> getListByEventIdAndGroupByRegistrationStatus(Long eventId);
 
-    long countByUserId(Long userId);
+    @Query(value = "SELECT event_id, registration_status, COUNT(*) FROM registrations WHERE event_id IN (:eventIds) " +
+            "group by event_id, registration_status",
+            nativeQuery = true)
+    List<Object[]> getListByEventIdInAndGroupByEventIdAndRegistrationStatus(Collection<Long> eventIds);
+
+    // Locks the registrations in the order they are approved in, served by the index on (event_id, status, created_at).
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Registration> findByEventIdAndRegistrationStatusOrderByCreatedAtAscIdAsc(Long eventId, String status);
+
+    // Registrations ahead in (created_at, id) order. The first count is a range of the index on
+    // (event_id, status, created_at), the second one covers registrations created at the same time.
+    @Query(value = "SELECT (SELECT COUNT(*) FROM registrations " +
+            "WHERE event_id = :eventId AND registration_status = :status AND created_at < :createdAt) + " +
+            "(SELECT COUNT(*) FROM registrations " +
+            "WHERE event_id = :eventId AND registration_status = :status AND created_at = :createdAt AND id < :id)",
+            nativeQuery = true)
+    long countRegistrationsAhead(Long eventId, String status, LocalDateTime createdAt, Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Registration r SET r.registrationStatus = :newStatus, r.version = r.version + 1 WHERE r.id IN :ids")
+    int updateRegistrationsStatusByIdIn(Collection<Long> ids, String newStatus);
 
     long countByEventIdAndRegistrationStatusIn(Long eventId, Collection<String> statuses);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Registration> findByEventIdAndUserId(Long eventId, Long userId);
+
+    @Query("SELECT r.userId, r.registrationStatus FROM Registration r " +
+            "WHERE r.eventId = :eventId AND r.userId IN :userIds")
+    List<Object[]> getListOfUserIdAndStatusByEventIdAndUserIdIn(Long eventId, Collection<Long> userIds);
+
+    @Query("SELECT DISTINCT r.eventId FROM Registration r")
+    List<Long> findDistinctEventIds();
+
+    List<Registration> findByEventIdOrderById(Long eventId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Registration r WHERE r.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
 }
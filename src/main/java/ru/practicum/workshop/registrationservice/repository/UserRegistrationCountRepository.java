@@ -0,0 +1,71 @@
+package ru.practicum.workshop.registrationservice.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.workshop.registrationservice.model.UserRegistrationCount;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// The row lock serializes concurrent changes of one user. Statements changing the counters of several users run
+// after lockRegistrationsCounts, so concurrent batches take the row locks in the same order and never deadlock.
+// Native statements name their table, see the cache policy on Registration.
+public interface UserRegistrationCountRepository extends JpaRepository<UserRegistrationCount, Long>,
+        UserRegistrationCountRepositoryCustom {
+
+    // Returns 0 when the user has no counter, i.e. its last registration was deleted along with the user.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_registration_counts"))
+    @Query(value = "UPDATE user_registration_counts SET registrations_count = registrations_count + 1 " +
+            "WHERE user_id = :userId AND registrations_count > 0",
+            nativeQuery = true)
+    int incrementExistingRegistrationsCount(Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_registration_counts"))
+    @Query(value = "UPDATE user_registration_counts SET registrations_count = registrations_count - 1 " +
+            "WHERE user_id = :userId",
+            nativeQuery = true)
+    void decrementRegistrationsCount(Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_registration_counts"))
+    @Query(value = "DELETE FROM user_registration_counts WHERE user_id = :userId AND registrations_count = 0",
+            nativeQuery = true)
+    void deleteEmptyRegistrationsCount(Long userId);
+
+    // Locks the counters of the given users in user_id order.
+    @Query(value = "SELECT user_id FROM user_registration_counts WHERE user_id IN (:userIds) ORDER BY user_id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockRegistrationsCounts(Collection<Long> userIds);
+
+    // Subtracts the given registrations from the counters of their users, must run before they are deleted.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_registration_counts"))
+    @Query(value = "UPDATE user_registration_counts SET registrations_count = registrations_count - " +
+            "(SELECT COUNT(*) FROM registrations r " +
+            "WHERE r.user_id = user_registration_counts.user_id AND r.id IN (:registrationIds)) " +
+            "WHERE user_id IN (SELECT r.user_id FROM registrations r WHERE r.id IN (:registrationIds))",
+            nativeQuery = true)
+    void decrementRegistrationsCounts(Collection<Long> registrationIds);
+
+    @Query(value = "SELECT user_id FROM user_registration_counts " +
+            "WHERE user_id IN (:userIds) AND registrations_count = 0",
+            nativeQuery = true)
+    List<Long> findUserIdsWithoutRegistrations(Collection<Long> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_registration_counts"))
+    @Query(value = "DELETE FROM user_registration_counts WHERE user_id IN (:userIds) AND registrations_count = 0",
+            nativeQuery = true)
+    void deleteEmptyRegistrationsCounts(Collection<Long> userIds);
+
+    @Query(value = "SELECT registrations_count FROM user_registration_counts WHERE user_id = :userId",
+            nativeQuery = true)
+    Optional<Long> getRegistrationsCount(Long userId);
+}
@@ -0,0 +1,8 @@
+package ru.practicum.workshop.registrationservice.repository;
+
+public interface UserRegistrationCountRepositoryCustom {
+
+    // Creates the counter of the user with 1 or increments the existing one, concurrent first registrations
+    // of a user never fail on the primary key.
+    void incrementRegistrationsCount(Long userId);
+}
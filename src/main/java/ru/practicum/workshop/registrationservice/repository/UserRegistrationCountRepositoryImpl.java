@@ -0,0 +1,29 @@
+package ru.practicum.workshop.registrationservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+// PostgreSQL 14 has no MERGE, so it gets INSERT ... ON CONFLICT. Other databases get the standard MERGE.
+public class UserRegistrationCountRepositoryImpl implements UserRegistrationCountRepositoryCustom {
+    private static final String POSTGRESQL_INCREMENT =
+            "INSERT INTO user_registration_counts (user_id, registrations_count) VALUES (:userId, 1) " +
+            "ON CONFLICT (user_id) DO UPDATE " +
+            "SET registrations_count = user_registration_counts.registrations_count + 1";
+    private static final String MERGE_INCREMENT =
+            "MERGE INTO user_registration_counts c USING (VALUES (CAST(:userId AS BIGINT))) s (user_id) " +
+            "ON c.user_id = s.user_id " +
+            "WHEN MATCHED THEN UPDATE SET registrations_count = c.registrations_count + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (user_id, registrations_count) VALUES (s.user_id, 1)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void incrementRegistrationsCount(Long userId) {
+        entityManager.createNativeQuery(NativeDialects.isPostgreSql(entityManager) ? POSTGRESQL_INCREMENT : MERGE_INCREMENT)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "user_registration_counts")
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.workshop.registrationservice.service;
+
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.dto.EventSnapshotDto;
+
+public interface EventSnapshotService {
+
+    EventResponse getEvent(Long eventId);
+
+    void saveEvent(Long eventId, EventSnapshotDto eventSnapshotDto);
+}
@@ -0,0 +1,114 @@
+package ru.practicum.workshop.registrationservice.service;
+
+import feign.FeignException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.registrationservice.client.EventClient;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.dto.EventSnapshotDto;
+import ru.practicum.workshop.registrationservice.mapping.EventSnapshotMapper;
+import ru.practicum.workshop.registrationservice.model.EventSnapshot;
+import ru.practicum.workshop.registrationservice.repository.EventSnapshotRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Events are read from local snapshots pushed by event-service. A missing or outdated snapshot is pulled,
+// if event-service is unavailable an outdated snapshot is used as it is. Pulled snapshots are written by a thread of
+// their own: the callers hold a pooled connection in their transactions, waiting for a second one could exhaust the
+// pool. The writes are kept when the calling transaction is rolled back, e.g. for a closed event, and dropped when
+// the queue is full, the next read pulls the event again.
+@Service
+@Slf4j
+public class EventSnapshotServiceImpl implements EventSnapshotService, DisposableBean {
+    private static final int WRITE_QUEUE_SIZE = 1000;
+
+    private final EventSnapshotRepository eventSnapshotRepository;
+    private final EventSnapshotMapper eventSnapshotMapper;
+    private final EventClient eventClient;
+    private final TransactionTemplate snapshotTransactionTemplate;
+    private final ThreadPoolExecutor snapshotWriter;
+    private final long maxAgeMs;
+
+    public EventSnapshotServiceImpl(EventSnapshotRepository eventSnapshotRepository,
+                                    EventSnapshotMapper eventSnapshotMapper,
+                                    EventClient eventClient,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${registration.event-snapshot.max-age-ms}") long maxAgeMs) {
+        this.eventSnapshotRepository = eventSnapshotRepository;
+        this.eventSnapshotMapper = eventSnapshotMapper;
+        this.eventClient = eventClient;
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotWriter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WRITE_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "event-snapshot-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    @Override
+    public EventResponse getEvent(Long eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<EventSnapshot> snapshot = eventSnapshotRepository.findById(eventId);
+        if (snapshot.isPresent() && snapshot.get().getSyncedAt().isAfter(now.minus(maxAgeMs, ChronoUnit.MILLIS))) {
+            return eventSnapshotMapper.toEventResponse(snapshot.get());
+        }
+
+        EventResponse eventResponse;
+        try {
+            eventResponse = eventClient.getEvent(eventId);
+        } catch (FeignException.NotFound e) {
+            snapshot.ifPresent(s -> write(() -> eventSnapshotRepository.deleteById(eventId)));
+            throw new EntityNotFoundException(String.format("Event (id=%d) doesn't exist.", eventId));
+        } catch (FeignException e) {
+            if (snapshot.isEmpty()) {
+                throw e;
+            }
+
+            log.warn("Can't refresh snapshot of event with id={} synced at {}, it is used as is: {}",
+                    eventId, snapshot.get().getSyncedAt(), e.getMessage());
+            return eventSnapshotMapper.toEventResponse(snapshot.get());
+        }
+
+        write(() -> eventSnapshotRepository.upsert(eventSnapshotMapper.toEventSnapshot(eventResponse, now)));
+        log.debug("Pulled snapshot of event with id={}.", eventId);
+
+        return eventResponse;
+    }
+
+    @Override
+    @Transactional
+    public void saveEvent(Long eventId, EventSnapshotDto eventSnapshotDto) {
+        eventSnapshotRepository.upsert(eventSnapshotMapper.toEventSnapshot(eventId, eventSnapshotDto, LocalDateTime.now()));
+
+        log.info("Snapshot of event with id={} saved, registration status {}.",
+                eventId, eventSnapshotDto.getRegistrationStatus());
+    }
+
+    @Override
+    public void destroy() {
+        snapshotWriter.shutdown();
+    }
+
+    private void write(Runnable write) {
+        snapshotWriter.execute(() -> {
+            try {
+                snapshotTransactionTemplate.executeWithoutResult(status -> write.run());
+            } catch (RuntimeException e) {
+                log.warn("Can't write pulled event snapshot: {}", e.getMessage());
+            }
+        });
+    }
+}
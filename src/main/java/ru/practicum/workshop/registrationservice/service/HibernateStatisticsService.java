@@ -0,0 +1,10 @@
+package ru.practicum.workshop.registrationservice.service;
+
+import ru.practicum.workshop.registrationservice.dto.HibernateStatisticsDto;
+
+public interface HibernateStatisticsService {
+
+    HibernateStatisticsDto getStatistics();
+
+    void resetStatistics();
+}
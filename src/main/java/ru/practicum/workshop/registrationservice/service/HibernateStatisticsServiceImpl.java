@@ -0,0 +1,70 @@
+package ru.practicum.workshop.registrationservice.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import ru.practicum.workshop.registrationservice.dto.HibernateStatisticsDto;
+import ru.practicum.workshop.registrationservice.dto.QueryStatisticsDto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@Slf4j
+public class HibernateStatisticsServiceImpl implements HibernateStatisticsService {
+    private final Statistics statistics;
+
+    public HibernateStatisticsServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public HibernateStatisticsDto getStatistics() {
+        if (!statistics.isStatisticsEnabled()) {
+            return HibernateStatisticsDto.builder()
+                    .statisticsEnabled(false)
+                    .queries(Collections.emptyList())
+                    .slowQueries(Collections.emptyMap()).build();
+        }
+
+        // Query strings are HQL or prepared SQL, bind parameters appear only as placeholders.
+        List<QueryStatisticsDto> queries = Arrays.stream(statistics.getQueries())
+                .map(query -> toQueryStatisticsDto(query, statistics.getQueryStatistics(query)))
+                // Queries are listed once their plan is compiled, which may happen without executing them.
+                .filter(queryStatistics -> queryStatistics.getExecutionCount() > 0)
+                .sorted(Comparator.comparingLong(QueryStatisticsDto::getExecutionTotalTimeMs).reversed())
+                .toList();
+
+        log.debug("Sent statistics of {} queries.", queries.size());
+
+        return HibernateStatisticsDto.builder()
+                .statisticsEnabled(true)
+                .collectedSince(statistics.getStart())
+                .prepareStatementCount(statistics.getPrepareStatementCount())
+                .queryExecutionCount(statistics.getQueryExecutionCount())
+                .entityLoadCount(statistics.getEntityLoadCount())
+                .queries(queries)
+                .slowQueries(statistics.getSlowQueries()).build();
+    }
+
+    @Override
+    public void resetStatistics() {
+        statistics.clear();
+        log.info("Hibernate statistics reset.");
+    }
+
+    private QueryStatisticsDto toQueryStatisticsDto(String query, QueryStatistics queryStatistics) {
+        return QueryStatisticsDto.builder()
+                .query(query)
+                .executionCount(queryStatistics.getExecutionCount())
+                .executionRowCount(queryStatistics.getExecutionRowCount())
+                .executionMaxTimeMs(queryStatistics.getExecutionMaxTime())
+                .executionMeanTimeMs(queryStatistics.getExecutionAvgTimeAsDouble())
+                .executionTotalTimeMs(queryStatistics.getExecutionTotalTime()).build();
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.workshop.registrationservice.service;
+
+public interface RegistrationArchivalService {
+
+    void archiveRegistrationsOfFinishedEvents();
+}
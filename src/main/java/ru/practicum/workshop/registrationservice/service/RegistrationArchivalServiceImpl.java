@@ -0,0 +1,144 @@
+package ru.practicum.workshop.registrationservice.service;
+
+import feign.FeignException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.registrationservice.client.UserClient;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+import ru.practicum.workshop.registrationservice.repository.ArchivedRegistrationRepository;
+import ru.practicum.workshop.registrationservice.repository.RegistrationRepository;
+import ru.practicum.workshop.registrationservice.repository.UserRegistrationCountRepository;
+import ru.practicum.workshop.registrationservice.user.UserIdCache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class RegistrationArchivalServiceImpl implements RegistrationArchivalService {
+    private final RegistrationRepository registrationRepository;
+    private final ArchivedRegistrationRepository archivedRegistrationRepository;
+    private final UserRegistrationCountRepository userRegistrationCountRepository;
+    private final RegistrationChangeService registrationChangeService;
+    private final EventSnapshotService eventSnapshotService;
+    private final UserClient userClient;
+    private final UserIdCache userIdCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public RegistrationArchivalServiceImpl(RegistrationRepository registrationRepository,
+                                           ArchivedRegistrationRepository archivedRegistrationRepository,
+                                           UserRegistrationCountRepository userRegistrationCountRepository,
+                                           RegistrationChangeService registrationChangeService,
+                                           EventSnapshotService eventSnapshotService,
+                                           UserClient userClient,
+                                           UserIdCache userIdCache,
+                                           TransactionTemplate transactionTemplate,
+                                           @Value("${registration.archival.batch-size}") int batchSize) {
+        this.registrationRepository = registrationRepository;
+        this.archivedRegistrationRepository = archivedRegistrationRepository;
+        this.userRegistrationCountRepository = userRegistrationCountRepository;
+        this.registrationChangeService = registrationChangeService;
+        this.eventSnapshotService = eventSnapshotService;
+        this.userClient = userClient;
+        this.userIdCache = userIdCache;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Archived registrations leave the service as deleted ones do: they are subtracted from the per-user counters,
+    // recorded as DELETED in the change feed, and users left without registrations are deleted in user-service.
+    @Override
+    @Scheduled(cron = "${registration.archival.cron}")
+    public void archiveRegistrationsOfFinishedEvents() {
+        long archived = 0;
+        for (Long eventId : registrationRepository.findDistinctEventIds()) {
+            if (isEventFinished(eventId)) {
+                archived += archiveRegistrationsOfEvent(eventId);
+            }
+        }
+
+        log.info("Archived {} registrations of finished events.", archived);
+    }
+
+    // Registrations of a deleted event are archived as well, nothing else removes them.
+    private boolean isEventFinished(Long eventId) {
+        try {
+            EventResponse eventResponse = eventSnapshotService.getEvent(eventId);
+            return eventResponse.getEndDateTime() != null && eventResponse.getEndDateTime().isBefore(LocalDateTime.now());
+        } catch (EntityNotFoundException e) {
+            return true;
+        } catch (FeignException e) {
+            log.warn("Can't get event with id={}, its registrations are not archived: {}", eventId, e.getMessage());
+            return false;
+        }
+    }
+
+    private long archiveRegistrationsOfEvent(Long eventId) {
+        long archived = 0;
+        try {
+            // Each batch is moved in its own transaction, so locks and undo are bounded by the batch size.
+            // Users are deleted once their batch is committed, so no locks are held during the calls.
+            ArchivedBatch batch;
+            do {
+                batch = transactionTemplate.execute(status -> archiveBatch(eventId));
+                archived += batch.registrationsCount();
+                batch.userIdsWithoutRegistrations().forEach(this::deleteUser);
+            } while (batch.registrationsCount() == batchSize);
+        } catch (DataAccessException e) {
+            // E.g. another instance archives the same event, the next run picks up what is left.
+            log.warn("Archival of registrations of event with id={} stopped after {} registrations: {}",
+                    eventId, archived, e.getMessage());
+        }
+
+        log.debug("Archived {} registrations of event with id={}.", archived, eventId);
+
+        return archived;
+    }
+
+    private ArchivedBatch archiveBatch(Long eventId) {
+        List<Registration> registrations = registrationRepository.findByEventIdOrderById(eventId, Limit.of(batchSize));
+        if (registrations.isEmpty()) {
+            return new ArchivedBatch(0, List.of());
+        }
+
+        List<Long> ids = registrations.stream().map(Registration::getId).toList();
+        Set<Long> userIds = registrations.stream().map(Registration::getUserId).collect(Collectors.toSet());
+
+        userRegistrationCountRepository.lockRegistrationsCounts(userIds);
+        userRegistrationCountRepository.decrementRegistrationsCounts(ids);
+        List<Long> userIdsWithoutRegistrations = userRegistrationCountRepository.findUserIdsWithoutRegistrations(userIds);
+        if (!userIdsWithoutRegistrations.isEmpty()) {
+            userRegistrationCountRepository.deleteEmptyRegistrationsCounts(userIdsWithoutRegistrations);
+        }
+
+        registrationChangeService.recordChanges(registrations, RegistrationChangeType.DELETED);
+        archivedRegistrationRepository.copyRegistrationsToArchive(ids, LocalDateTime.now());
+        registrationRepository.deleteAllByIdIn(ids);
+
+        return new ArchivedBatch(registrations.size(), userIdsWithoutRegistrations);
+    }
+
+    // A failed deletion leaves the user in user-service only, it has no registrations and no counter here.
+    private void deleteUser(Long userId) {
+        userIdCache.evictUser(userId);
+        try {
+            userClient.autoDeleteUser(userId);
+        } catch (FeignException e) {
+            log.warn("Can't delete user with id={} left without registrations: {}", userId, e.getMessage());
+        }
+    }
+
+    private record ArchivedBatch(int registrationsCount, List<Long> userIdsWithoutRegistrations) {
+    }
+}
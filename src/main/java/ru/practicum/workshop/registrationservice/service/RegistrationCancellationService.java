@@ -0,0 +1,8 @@
+package ru.practicum.workshop.registrationservice.service;
+
+import ru.practicum.workshop.registrationservice.dto.EventRegistrationsCancellationDto;
+
+public interface RegistrationCancellationService {
+
+    EventRegistrationsCancellationDto cancelRegistrationsOfEvent(Long eventId);
+}
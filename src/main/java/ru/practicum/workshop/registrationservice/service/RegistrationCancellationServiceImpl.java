@@ -0,0 +1,117 @@
+package ru.practicum.workshop.registrationservice.service;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.registrationservice.client.UserClient;
+import ru.practicum.workshop.registrationservice.dto.EventRegistrationsCancellationDto;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+import ru.practicum.workshop.registrationservice.repository.RegistrationRepository;
+import ru.practicum.workshop.registrationservice.repository.UserRegistrationCountRepository;
+import ru.practicum.workshop.registrationservice.user.UserIdCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class RegistrationCancellationServiceImpl implements RegistrationCancellationService {
+    private final RegistrationRepository registrationRepository;
+    private final UserRegistrationCountRepository userRegistrationCountRepository;
+    private final RegistrationChangeService registrationChangeService;
+    private final UserClient userClient;
+    private final UserIdCache userIdCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public RegistrationCancellationServiceImpl(RegistrationRepository registrationRepository,
+                                               UserRegistrationCountRepository userRegistrationCountRepository,
+                                               RegistrationChangeService registrationChangeService,
+                                               UserClient userClient,
+                                               UserIdCache userIdCache,
+                                               TransactionTemplate transactionTemplate,
+                                               @Value("${registration.cancellation.batch-size}") int batchSize) {
+        this.registrationRepository = registrationRepository;
+        this.userRegistrationCountRepository = userRegistrationCountRepository;
+        this.registrationChangeService = registrationChangeService;
+        this.userClient = userClient;
+        this.userIdCache = userIdCache;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Each batch is deleted in its own transaction, users left without registrations are deleted in user-service
+    // once their batch is committed, so no locks are held during the calls.
+    @Override
+    public EventRegistrationsCancellationDto cancelRegistrationsOfEvent(Long eventId) {
+        long cancelledRegistrations = 0;
+        long deletedUsers = 0;
+        List<Long> failedUserDeletions = new ArrayList<>();
+
+        CancelledBatch batch;
+        do {
+            batch = transactionTemplate.execute(status -> cancelBatch(eventId));
+            cancelledRegistrations += batch.registrationsCount();
+
+            for (Long userId : batch.userIdsWithoutRegistrations()) {
+                if (deleteUser(userId)) {
+                    deletedUsers++;
+                } else {
+                    failedUserDeletions.add(userId);
+                }
+            }
+        } while (batch.registrationsCount() == batchSize);
+
+        log.info("Cancelled {} registrations of event with id={}, deleted {} users, {} user deletions failed.",
+                cancelledRegistrations, eventId, deletedUsers, failedUserDeletions.size());
+
+        return EventRegistrationsCancellationDto.builder()
+                .eventId(eventId)
+                .cancelledRegistrations(cancelledRegistrations)
+                .deletedUsers(deletedUsers)
+                .failedUserDeletions(failedUserDeletions).build();
+    }
+
+    private CancelledBatch cancelBatch(Long eventId) {
+        List<Registration> registrations = registrationRepository.findByEventIdOrderById(eventId, Limit.of(batchSize));
+        if (registrations.isEmpty()) {
+            return new CancelledBatch(0, List.of());
+        }
+
+        List<Long> ids = registrations.stream().map(Registration::getId).toList();
+        Set<Long> userIds = registrations.stream().map(Registration::getUserId).collect(Collectors.toSet());
+
+        userRegistrationCountRepository.lockRegistrationsCounts(userIds);
+        userRegistrationCountRepository.decrementRegistrationsCounts(ids);
+        List<Long> userIdsWithoutRegistrations = userRegistrationCountRepository.findUserIdsWithoutRegistrations(userIds);
+        if (!userIdsWithoutRegistrations.isEmpty()) {
+            userRegistrationCountRepository.deleteEmptyRegistrationsCounts(userIdsWithoutRegistrations);
+        }
+
+        registrationChangeService.recordChanges(registrations, RegistrationChangeType.DELETED);
+        registrationRepository.deleteAllByIdIn(ids);
+
+        return new CancelledBatch(registrations.size(), userIdsWithoutRegistrations);
+    }
+
+    // A failed deletion leaves the user in user-service only, it has no registrations and no counter here.
+    private boolean deleteUser(Long userId) {
+        userIdCache.evictUser(userId);
+        try {
+            userClient.autoDeleteUser(userId);
+            return true;
+        } catch (FeignException e) {
+            log.warn("Can't delete user with id={} left without registrations: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    private record CancelledBatch(int registrationsCount, List<Long> userIdsWithoutRegistrations) {
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.workshop.registrationservice.service;
+
+import ru.practicum.workshop.registrationservice.dto.RegistrationChangeDto;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+
+import java.util.List;
+
+public interface RegistrationChangeService {
+
+    RegistrationChangeDto recordChange(Registration registration, RegistrationChangeType changeType);
+
+    List<RegistrationChangeDto> recordChanges(List<Registration> registrations, RegistrationChangeType changeType);
+
+    List<RegistrationChangeDto> getChanges(Long since, int limit);
+}
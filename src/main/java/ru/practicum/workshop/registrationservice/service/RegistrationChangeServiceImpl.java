@@ -0,0 +1,80 @@
+package ru.practicum.workshop.registrationservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.workshop.registrationservice.dto.RegistrationChangeDto;
+import ru.practicum.workshop.registrationservice.mapping.RegistrationMapper;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChange;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+import ru.practicum.workshop.registrationservice.repository.RegistrationChangeRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RegistrationChangeServiceImpl implements RegistrationChangeService {
+    private final RegistrationChangeRepository registrationChangeRepository;
+    private final RegistrationMapper registrationMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Must run inside the transaction that modifies the registration.
+    @Override
+    @Transactional
+    public RegistrationChangeDto recordChange(Registration registration, RegistrationChangeType changeType) {
+        registrationChangeRepository.reserveSequenceNumbers(1);
+        long sequenceNumber = registrationChangeRepository.getLastSequenceNumber();
+
+        RegistrationChange registrationChange = registrationChangeRepository.save(
+                registrationMapper.toRegistrationChange(registration, sequenceNumber, changeType, LocalDateTime.now()));
+
+        RegistrationChangeDto registrationChangeDto = registrationMapper.toRegistrationChangeDto(registrationChange);
+        // Listeners receive the change once the surrounding transaction commits.
+        eventPublisher.publishEvent(registrationChangeDto);
+
+        return registrationChangeDto;
+    }
+
+    // Sequence numbers of all changes are reserved by one update, they are consecutive in the given order.
+    @Override
+    @Transactional
+    public List<RegistrationChangeDto> recordChanges(List<Registration> registrations, RegistrationChangeType changeType) {
+        if (registrations.isEmpty()) {
+            return List.of();
+        }
+
+        registrationChangeRepository.reserveSequenceNumbers(registrations.size());
+        long firstSequenceNumber = registrationChangeRepository.getLastSequenceNumber() - registrations.size() + 1;
+
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<RegistrationChange> registrationChanges = new ArrayList<>(registrations.size());
+        for (int i = 0; i < registrations.size(); i++) {
+            registrationChanges.add(registrationMapper.toRegistrationChange(
+                    registrations.get(i), firstSequenceNumber + i, changeType, changedAt));
+        }
+
+        List<RegistrationChangeDto> registrationChangeDtos = registrationMapper.toRegistrationChangeDto(
+                registrationChangeRepository.saveAll(registrationChanges));
+        registrationChangeDtos.forEach(eventPublisher::publishEvent);
+
+        return registrationChangeDtos;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RegistrationChangeDto> getChanges(Long since, int limit) {
+        List<RegistrationChange> changes = registrationChangeRepository
+                .findAllByIdGreaterThanOrderById(since, Limit.of(limit));
+
+        log.debug("Sent {} registration changes since {}.", changes.size(), since);
+
+        return registrationMapper.toRegistrationChangeDto(changes);
+    }
+}
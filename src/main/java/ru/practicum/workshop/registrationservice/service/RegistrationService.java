@@ -16,13 +16,23 @@ public interface RegistrationService {
 
     PublicRegistrationDto getRegistration(Long registrationId);
 
+    WaitlistPositionDto getWaitlistPosition(Long registrationId);
+
     List<PublicRegistrationDto> getRegistrations(Long eventId, Pageable pageable);
 
+    List<RegistrationSearchDto> searchRegistrations(Long eventId, String query, Long after, int limit);
+
     PublicRegistrationStatusDto updateRegistrationStatus(Long requesterId, UpdateStatusDto updateStatusDto);
 
+    AutoApprovalResultDto approvePendingRegistrations(Long requesterId, Long eventId);
+
     List<PublicRegistrationStatusDto> getRegistrationsWithStatusesAndEventId(Long eventId, List<String> statuses);
 
     Map<String, Long> countRegistrationsByStatus(Long eventId);
 
+    Map<Long, Map<String, Long>> countRegistrationsByStatus(List<Long> eventIds);
+
     String getStatusOfRegistration(Long eventId, Long userId);
+
+    Map<Long, String> getStatusesOfRegistrations(Long eventId, List<Long> userIds);
 }
@@ -1,11 +1,14 @@
 package ru.practicum.workshop.registrationservice.service;
 
-import feign.FeignException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.workshop.registrationservice.client.EventClient;
@@ -18,9 +21,14 @@ import ru.practicum.workshop.registrationservice.dto.*;
 import ru.practicum.workshop.registrationservice.exception.AuthenticationException;
 import ru.practicum.workshop.registrationservice.exception.ConflictException;
 import ru.practicum.workshop.registrationservice.mapping.RegistrationMapper;
+import ru.practicum.workshop.registrationservice.model.ArchivedRegistration;
 import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
 import ru.practicum.workshop.registrationservice.model.RegistrationStatus;
+import ru.practicum.workshop.registrationservice.repository.ArchivedRegistrationRepository;
 import ru.practicum.workshop.registrationservice.repository.RegistrationRepository;
+import ru.practicum.workshop.registrationservice.repository.UserRegistrationCountRepository;
+import ru.practicum.workshop.registrationservice.user.UserIdCache;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -31,40 +39,82 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class RegistrationServiceImpl implements RegistrationService {
+    // Upper bound of ids in one batch request.
+    private static final int BATCH_MAX_SIZE = 5000;
+    // Max number of parameters bound to one IN clause.
+    private static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
     private final RegistrationRepository registrationRepository;
     private final RegistrationMapper registrationMapper;
     private final UserClient userClient;
     private final EventClient eventClient;
+    private final EventSnapshotService eventSnapshotService;
+    private final RegistrationChangeService registrationChangeService;
+    private final UserRegistrationCountRepository userRegistrationCountRepository;
+    private final ArchivedRegistrationRepository archivedRegistrationRepository;
+    private final UserIdCache userIdCache;
 
     @Override
     @Transactional
     public AuthRegistrationDto createRegistration(NewRegistrationDto newRegistrationDto) {
+        // Duplicates are rejected before the remote calls.
+        checkEmailNotRegistered(newRegistrationDto.getEventId(), newRegistrationDto.getEmail());
+
         Registration newRegistration = registrationMapper.toRegistration(newRegistrationDto, getRandomPassword(),
                 RegistrationStatus.PENDING.toString(), LocalDateTime.now());
 
-        try {
-            EventResponse eventResponse = eventClient.getEvent(newRegistrationDto.getEventId());
+        EventResponse eventResponse = eventSnapshotService.getEvent(newRegistrationDto.getEventId());
+        if (!eventResponse.getRegistrationStatus().equals(EventRegistrationStatus.OPEN)) {
+            throw new ConflictException(
+                    String.format("Can't create registration on not opened event (id=%d)", eventResponse.getId()));
+        }
 
-            if (!eventResponse.getRegistrationStatus().equals(EventRegistrationStatus.OPEN)) {
-                throw new ConflictException(
-                        String.format("Can't create registration on not opened event (id=%d)", eventResponse.getId()));
-            }
+        newRegistration.setUserId(findOrCreateUserId(newRegistration.getEmail()));
+
+        registrationRepository.save(newRegistration);
+        registrationChangeService.recordChange(newRegistration, RegistrationChangeType.CREATED);
 
-        } catch (FeignException.NotFound e) {
-            throw new EntityNotFoundException(
-                    String.format("Event (id=%d) doesn't exist.", newRegistrationDto.getEventId()));
+        log.info("Registration added: id={}, eventId={}, userId={}.",
+                newRegistration.getId(), newRegistration.getEventId(), newRegistration.getUserId());
+
+        return registrationMapper.toAuthRegistrationDto(newRegistration);
+    }
+
+    // Served by the unique index on (event_id, lower(email)), which also rejects a concurrent duplicate on insert.
+    private void checkEmailNotRegistered(Long eventId, String email) {
+        if (registrationRepository.existsByEventIdAndEmailIgnoreCase(eventId, email)) {
+            throw new ConflictException(String.format("Email is already registered to event (id=%d).", eventId));
         }
+    }
 
-        NewUserDto newUserDto = new NewUserDto("autoUser", newRegistration.getEmail(), "autoPassword",
-                "Auto registration from registration service.");
+    // The registration is counted to the returned user.
+    private Long findOrCreateUserId(String email) {
+        Long userId = findExistingUserId(email);
+        if (userId == null) {
+            NewUserDto newUserDto = new NewUserDto("autoUser", email, "autoPassword",
+                    "Auto registration from registration service.");
 
-        newRegistration.setUserId(userClient.autoCreateUser(newUserDto));
+            userId = userClient.autoCreateUser(newUserDto);
+            userRegistrationCountRepository.incrementRegistrationsCount(userId);
+        }
+        userIdCache.put(email, userId);
+        return userId;
+    }
 
-        registrationRepository.save(newRegistration);
+    // Registrants already known by email keep their user, so that user-service is called for new people only.
+    // Counting the registration in advance waits for a concurrent deletion of the user's last registration,
+    // after which the counter is gone and the user is created anew.
+    private Long findExistingUserId(String email) {
+        Long userId = userIdCache.get(email)
+                .or(() -> registrationRepository.findUserIdsByEmail(email, Limit.of(1)).stream().findFirst())
+                .orElse(null);
 
-        log.info("Registration added: {}", newRegistration);
+        if (userId == null || userRegistrationCountRepository.incrementExistingRegistrationsCount(userId) == 0) {
+            return null;
+        }
 
-        return registrationMapper.toAuthRegistrationDto(newRegistration);
+        log.debug("Found user with id={} by email of registration.", userId);
+        return userId;
     }
 
     @Override
@@ -76,19 +126,80 @@ public class RegistrationServiceImpl implements RegistrationService {
             throw new AuthenticationException(String.format("Incorrect password for registration with id=%d", updateRegistrationDto.getId()));
         }
 
-        registrationMapper.updateRegistrationData(registration, updateRegistrationDto);
+        // Fields missing from the request are kept, so only the present ones can change.
+        boolean emailChanged = isChanged(updateRegistrationDto.getEmail(), registration.getEmail());
+        if (!emailChanged && !isChanged(updateRegistrationDto.getName(), registration.getName())
+                && !isChanged(updateRegistrationDto.getPhone(), registration.getPhone())) {
+            log.debug("Registration data not changed: id={}.", registration.getId());
+            return registrationMapper.toPublicRegistrationDto(registration);
+        }
+
+        // A change of case only keeps the email, the registration itself would be found as a duplicate.
+        if (emailChanged && !updateRegistrationDto.getEmail().equalsIgnoreCase(registration.getEmail())) {
+            checkEmailNotRegistered(registration.getEventId(), updateRegistrationDto.getEmail());
+        }
+
+        // The user is resolved while the entity still has the old email, the lookup by the new email flushes it.
+        if (emailChanged) {
+            changeUser(registration, updateRegistrationDto.getEmail());
+        }
 
-        UpdateUserFromRegistrationDto updateUserFromRegistrationDto = new UpdateUserFromRegistrationDto(registration.getEmail());
-        userClient.autoUpdateUser(updateUserFromRegistrationDto, registration.getUserId());
+        registrationMapper.updateRegistrationData(registration, updateRegistrationDto);
 
         registrationRepository.save(registration);
+        registrationChangeService.recordChange(registration, RegistrationChangeType.UPDATED);
 
-        log.info("Registration data updated: {}", registration);
+        log.info("Registration data updated: id={}.", registration.getId());
 
         return registrationMapper.toPublicRegistrationDto(registration);
     }
 
+    // Users are known to user-service by email only, so all registrations of a user share its email. The user of a
+    // changed email is the one already known by the new email, otherwise the current user when this is its only
+    // registration, otherwise a new one. Emails are matched ignoring case, so a change of case keeps the user.
+    private void changeUser(Registration registration, String newEmail) {
+        if (newEmail.equalsIgnoreCase(registration.getEmail())) {
+            return;
+        }
+
+        Long currentUserId = registration.getUserId();
+        Long userId = findExistingUserId(newEmail);
+        if (userId == null && userRegistrationCountRepository.getRegistrationsCount(currentUserId).orElse(0L) <= 1) {
+            UpdateUserFromRegistrationDto updateUserFromRegistrationDto = new UpdateUserFromRegistrationDto(newEmail);
+            userClient.autoUpdateUser(updateUserFromRegistrationDto, currentUserId);
+            userIdCache.evictUser(currentUserId);
+            userIdCache.put(newEmail, currentUserId);
+            return;
+        }
+
+        if (userId == null) {
+            userId = findOrCreateUserId(newEmail);
+        } else {
+            userIdCache.put(newEmail, userId);
+        }
+        registration.setUserId(userId);
+        releaseUser(currentUserId);
+
+        log.debug("Registration with id={} moved from user with id={} to user with id={}.",
+                registration.getId(), currentUserId, userId);
+    }
+
+    // The user is deleted along with its last registration.
+    private void releaseUser(Long userId) {
+        userRegistrationCountRepository.decrementRegistrationsCount(userId);
+        long numberOfUserRegistrations = userRegistrationCountRepository
+                .getRegistrationsCount(userId).orElse(0L);
+        if (numberOfUserRegistrations == 0) {
+            userRegistrationCountRepository.deleteEmptyRegistrationsCount(userId);
+            userClient.autoDeleteUser(userId);
+            userIdCache.evictUser(userId);
+        }
+    }
+
     @Override
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${registration.status-update.max-attempts}",
+            backoff = @Backoff(delayExpression = "${registration.status-update.backoff-ms}", multiplier = 2, random = true))
     @Transactional
     public void deleteRegistration(AuthRegistrationDto authRegistrationDto) {
         Registration registration = getRegistrationInternal(authRegistrationDto.getId());
@@ -98,30 +209,23 @@ public class RegistrationServiceImpl implements RegistrationService {
                     String.format("Incorrect password for registration with id=%d", authRegistrationDto.getId()));
         }
 
-        if (registration.getRegistrationStatus().equals(RegistrationStatus.APPROVED.toString())) {
+        boolean approved = registration.getRegistrationStatus().equals(RegistrationStatus.APPROVED.toString());
+        if (approved) {
 
-            EventResponse eventResponse = eventClient.getEvent(registration.getEventId(), registration.getUserId());
+            EventResponse eventResponse = eventSnapshotService.getEvent(registration.getEventId());
             if (LocalDateTime.now().isAfter(eventResponse.getStartDateTime()) &&
                     LocalDateTime.now().isBefore(eventResponse.getEndDateTime())) {
                 throw new ValidationException("You can't delete registration. Event id=" + registration.getEventId() + " is already started.");
             }
-
-            Optional<Registration> waitingRegistration = registrationRepository
-                    .findFirstByRegistrationStatusOrderByCreatedAtAsc(RegistrationStatus.WAITING.toString());
-            if (waitingRegistration.isPresent()) {
-                Registration waiting = waitingRegistration.get();
-                waiting.setRegistrationStatus(RegistrationStatus.PENDING.toString());
-                registrationRepository.save(waiting);
-                log.info("Registration with id={} update status from WAITING to PENDING", waiting.getId());
-            }
         }
 
-        long numberOfUserRegistrations = registrationRepository.countByUserId(registration.getUserId());
-        if (numberOfUserRegistrations == 1) {
-            userClient.autoDeleteUser(registration.getUserId());
+        registrationRepository.delete(registration);
+        if (approved) {
+            promoteFirstWaitingRegistration(registration.getEventId());
         }
 
-        registrationRepository.deleteById(authRegistrationDto.getId());
+        releaseUser(registration.getUserId());
+        registrationChangeService.recordChange(registration, RegistrationChangeType.DELETED);
 
         log.info("Registration with id={} was deleted.", authRegistrationDto.getId());
     }
@@ -129,25 +233,73 @@ public class RegistrationServiceImpl implements RegistrationService {
     @Override
     @Transactional(readOnly = true)
     public PublicRegistrationDto getRegistration(Long registrationId) {
+        Optional<Registration> registration = registrationRepository.findById(registrationId);
+        if (registration.isPresent()) {
+            log.debug("Sent registration with id={}.", registrationId);
+
+            return registrationMapper.toPublicRegistrationDto(registration.get());
+        }
+
+        // Registrations of finished events are moved to the archive and can still be read by id.
+        ArchivedRegistration archivedRegistration = archivedRegistrationRepository.findById(registrationId).orElseThrow(
+                () -> new EntityNotFoundException(
+                        String.format("Registration with id=%d not found.", registrationId)));
+
+        log.debug("Sent archived registration with id={}.", registrationId);
+
+        return registrationMapper.toPublicRegistrationDto(archivedRegistration);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WaitlistPositionDto getWaitlistPosition(Long registrationId) {
         Registration registration = getRegistrationInternal(registrationId);
+        if (!registration.getRegistrationStatus().equals(RegistrationStatus.WAITING.toString())) {
+            throw new ConflictException(String.format("Registration (id=%d) with status=%s is not on the waiting list.",
+                    registrationId, registration.getRegistrationStatus()));
+        }
 
-        log.info("Sent registration with id={}.", registrationId);
+        // Waiting registrations are promoted oldest first, see promoteFirstWaitingRegistration.
+        long ahead = registrationRepository.countRegistrationsAhead(registration.getEventId(),
+                RegistrationStatus.WAITING.toString(), registration.getCreatedAt(), registration.getId());
 
-        return registrationMapper.toPublicRegistrationDto(registration);
+        log.debug("Sent waiting list position of registration with id={}.", registrationId);
+
+        return WaitlistPositionDto.builder()
+                .registrationId(registrationId)
+                .eventId(registration.getEventId())
+                .position(ahead + 1).build();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PublicRegistrationDto> getRegistrations(Long eventId, Pageable pageable) {
-        List<Registration> registrations = registrationRepository.findAllByEventId(eventId, pageable);
+        List<PublicRegistrationDto> registrations = registrationRepository
+                .findPublicRegistrationsByEventId(eventId, pageable);
 
-        log.info("Sent registrations for event id={}, page={}, size={}.",
+        log.debug("Sent registrations for event id={}, page={}, size={}.",
                 eventId, pageable.getPageNumber(), pageable.getPageSize());
 
-        return registrationMapper.toPublicRegistrationDto(registrations);
+        return registrations;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RegistrationSearchDto> searchRegistrations(Long eventId, String query, Long after, int limit) {
+        String prefix = escapeLikePattern(query.strip().toLowerCase(Locale.ROOT)) + "%";
+
+        List<RegistrationSearchDto> registrations = registrationRepository
+                .searchByEventIdAndPrefix(eventId, prefix, after, Limit.of(limit));
+
+        log.debug("Sent {} registrations found for event id={} after id={}.", registrations.size(), eventId, after);
+
+        return registrations;
     }
 
     @Override
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${registration.status-update.max-attempts}",
+            backoff = @Backoff(delayExpression = "${registration.status-update.backoff-ms}", multiplier = 2, random = true))
     @Transactional
     public PublicRegistrationStatusDto updateRegistrationStatus(Long requesterId, UpdateStatusDto updateStatusDto) {
         RegistrationStatus status = RegistrationStatus.parseStatus(updateStatusDto.getStatus());
@@ -163,25 +315,12 @@ public class RegistrationServiceImpl implements RegistrationService {
                                                       updateStatusDto.getStatus()));
         }
 
-        EventResponse eventResponse;
-        try {
-            eventResponse = eventClient.getEvent(registrationToUpdateStatus.getEventId());
-        } catch (FeignException.NotFound e) {
-            throw new EntityNotFoundException(String.format("Event (id=%d) doesn't exist.",
-                                                             registrationToUpdateStatus.getEventId()));
-        }
+        EventResponse eventResponse = eventSnapshotService.getEvent(registrationToUpdateStatus.getEventId());
 
-        if (!eventResponse.getOwnerId().equals(requesterId)) {
-            List<PublicOrgTeamMemberDto> eventTeamMembers = eventClient.getEventTeamMembers(eventResponse.getId());
-            eventTeamMembers.stream()
-                .filter(member -> member.getUserId().equals(requesterId) && member.getRole().equals(PublicOrgTeamMemberDto.Role.MANAGER))
-                .findFirst().orElseThrow(() -> new AuthenticationException(
-                        String.format("Requester (id=%d) can't modify status of event (id=%d).",
-                                      requesterId,
-                                      eventResponse.getId())));
-        }
+        checkRequesterManagesEvent(requesterId, eventResponse);
 
-        if (updateStatusDto.getStatus().equals(RegistrationStatus.APPROVED.toString())) {
+        RegistrationStatus targetStatus = status;
+        if (status == RegistrationStatus.APPROVED) {
             if (!eventResponse.getRegistrationStatus().equals(EventRegistrationStatus.OPEN)) {
                 throw new ConflictException(
                         String.format("Can't update registration (id=%d) on not opened event (id=%d)",
@@ -192,23 +331,87 @@ public class RegistrationServiceImpl implements RegistrationService {
                     registrationRepository.countByEventIdAndRegistrationStatusIn(
                             eventResponse.getId(),
                             Set.of(RegistrationStatus.APPROVED.toString()))) {
-                updateStatusDto.setStatus(RegistrationStatus.WAITING.toString());
+                // Keep the request intact, a retried attempt must start from the requested status.
+                targetStatus = RegistrationStatus.WAITING;
             }
         }
 
-        if (updateStatusDto.getStatus().equals(RegistrationStatus.REJECTED.toString())
-                && updateStatusDto.getReason() == null) {
+        if (status == RegistrationStatus.REJECTED && updateStatusDto.getReason() == null) {
             throw new ValidationException("Reason can't be null with status REJECTED");
         }
 
-        registrationToUpdateStatus.setRegistrationStatus(status.toString());
+        registrationToUpdateStatus.setRegistrationStatus(targetStatus.toString());
         registrationRepository.save(registrationToUpdateStatus);
+        registrationChangeService.recordChange(registrationToUpdateStatus, RegistrationChangeType.UPDATED);
 
-        log.info("update registration status id={}", updateStatusDto.getId());
+        log.info("Registration with id={} update status to {}.", updateStatusDto.getId(), targetStatus);
 
         return registrationMapper.toStatusRegistrationDtoWithReason(registrationToUpdateStatus, updateStatusDto.getReason());
     }
 
+    // The oldest pending registrations take the free places, the rest are put on the waiting list. Pending rows are
+    // locked first and updated by id, so registrations created meanwhile stay pending and the changes recorded match
+    // the set-based updates.
+    @Override
+    @Transactional
+    public AutoApprovalResultDto approvePendingRegistrations(Long requesterId, Long eventId) {
+        EventResponse eventResponse = eventSnapshotService.getEvent(eventId);
+        checkRequesterManagesEvent(requesterId, eventResponse);
+
+        if (!eventResponse.getRegistrationStatus().equals(EventRegistrationStatus.OPEN)) {
+            throw new ConflictException(
+                    String.format("Can't approve registrations on not opened event (id=%d)", eventId));
+        }
+
+        List<Registration> pendingRegistrations = registrationRepository
+                .findByEventIdAndRegistrationStatusOrderByCreatedAtAscIdAsc(eventId, RegistrationStatus.PENDING.toString());
+
+        int freePlaces = pendingRegistrations.size();
+        if (eventResponse.isLimited()) {
+            long approved = registrationRepository.countByEventIdAndRegistrationStatusIn(eventId,
+                    Set.of(RegistrationStatus.APPROVED.toString()));
+            freePlaces = (int) Math.max(0, Math.min(freePlaces, eventResponse.getParticipantLimit() - approved));
+        }
+
+        List<Long> ids = pendingRegistrations.stream().map(Registration::getId).toList();
+        int approved = updateRegistrationsStatus(ids.subList(0, freePlaces), RegistrationStatus.APPROVED);
+        int waiting = updateRegistrationsStatus(ids.subList(freePlaces, ids.size()), RegistrationStatus.WAITING);
+
+        for (int i = 0; i < pendingRegistrations.size(); i++) {
+            pendingRegistrations.get(i).setRegistrationStatus(
+                    (i < approved ? RegistrationStatus.APPROVED : RegistrationStatus.WAITING).toString());
+        }
+        registrationChangeService.recordChanges(pendingRegistrations, RegistrationChangeType.UPDATED);
+
+        log.info("Pending registrations of event with id={} processed: {} approved, {} waiting.",
+                eventId, approved, waiting);
+
+        return AutoApprovalResultDto.builder()
+                .eventId(eventId)
+                .approved(approved)
+                .waiting(waiting).build();
+    }
+
+    private int updateRegistrationsStatus(List<Long> ids, RegistrationStatus status) {
+        int updated = 0;
+        for (List<Long> chunk : partition(ids, IN_CLAUSE_CHUNK_SIZE)) {
+            updated += registrationRepository.updateRegistrationsStatusByIdIn(chunk, status.toString());
+        }
+        return updated;
+    }
+
+    private void checkRequesterManagesEvent(Long requesterId, EventResponse eventResponse) {
+        if (!eventResponse.getOwnerId().equals(requesterId)) {
+            List<PublicOrgTeamMemberDto> eventTeamMembers = eventClient.getEventTeamMembers(eventResponse.getId());
+            eventTeamMembers.stream()
+                .filter(member -> member.getUserId().equals(requesterId) && member.getRole().equals(PublicOrgTeamMemberDto.Role.MANAGER))
+                .findFirst().orElseThrow(() -> new AuthenticationException(
+                        String.format("Requester (id=%d) can't modify status of event (id=%d).",
+                                      requesterId,
+                                      eventResponse.getId())));
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<PublicRegistrationStatusDto> getRegistrationsWithStatusesAndEventId(Long eventId, List<String> statuses) {
@@ -220,14 +423,12 @@ public class RegistrationServiceImpl implements RegistrationService {
             return List.of();
         }
 
-        List<Registration> registrations = registrationRepository
-                .findAllByEventIdAndRegistrationStatusInOrderByCreatedAt(eventId,statuses);
+        List<PublicRegistrationStatusDto> registrations = registrationRepository
+                .findStatusRegistrationsByEventIdAndStatuses(eventId, statuses);
 
-        log.info("Sent registrations with eventId={} and statuses {}.", eventId, statusesFromRequest);
+        log.debug("Sent registrations with eventId={} and statuses {}.", eventId, statusesFromRequest);
 
-        return registrations.stream()
-                .map(registrationMapper::toStatusRegistrationDtoWithoutReason)
-                .toList();
+        return registrations;
     }
 
     @Override
@@ -237,7 +438,7 @@ public class RegistrationServiceImpl implements RegistrationService {
 
         if (response.isEmpty()) return Map.of();
 
-        log.info("Sent count registrations with eventId={}.", eventId);
+        log.debug("Sent count registrations with eventId={}.", eventId);
 
         return response.stream()
                 .collect(Collectors.toMap(
@@ -246,6 +447,43 @@ public class RegistrationServiceImpl implements RegistrationService {
                 ));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, Long>> countRegistrationsByStatus(List<Long> eventIds) {
+        if (eventIds.size() > BATCH_MAX_SIZE) {
+            throw new ValidationException(
+                    String.format("Batch can't contain more than %d event ids.", BATCH_MAX_SIZE));
+        }
+
+        Map<Long, Map<String, Long>> counts = new HashMap<>();
+        for (List<Long> chunk : partition(List.copyOf(new LinkedHashSet<>(eventIds)), IN_CLAUSE_CHUNK_SIZE)) {
+            chunk.forEach(eventId -> counts.put(eventId, new HashMap<>()));
+            registrationRepository.getListByEventIdInAndGroupByEventIdAndRegistrationStatus(chunk)
+                    .forEach(row -> counts.get(((Number) row[0]).longValue())
+                            .put((String) row[1], ((Number) row[2]).longValue()));
+        }
+
+        log.debug("Sent count registrations for {} events.", counts.size());
+
+        return counts;
+    }
+
+    // A concurrent change of the promoted registration fails the version check, the deletion is retried as a whole.
+    private void promoteFirstWaitingRegistration(Long eventId) {
+        Optional<Registration> waitingRegistration = registrationRepository
+                .findFirstByEventIdAndRegistrationStatusOrderByCreatedAtAscIdAsc(
+                        eventId, RegistrationStatus.WAITING.toString());
+        if (waitingRegistration.isEmpty()) {
+            return;
+        }
+
+        Registration waiting = waitingRegistration.get();
+        waiting.setRegistrationStatus(RegistrationStatus.PENDING.toString());
+        registrationRepository.save(waiting);
+        registrationChangeService.recordChange(waiting, RegistrationChangeType.UPDATED);
+        log.info("Registration with id={} update status from WAITING to PENDING", waiting.getId());
+    }
+
     private String getRandomPassword() {
         // Use seconds number from 1970 as random seed.
         Random random = new Random(LocalDateTime.now().toInstant(ZoneOffset.UTC).getEpochSecond());
@@ -254,6 +492,10 @@ public class RegistrationServiceImpl implements RegistrationService {
         return String.format("%04d", random.nextInt(10000));
     }
 
+    private static boolean isChanged(String newValue, String currentValue) {
+        return newValue != null && !newValue.equals(currentValue);
+    }
+
     @Transactional(readOnly = true)
     private Registration getRegistrationInternal(Long registrationId) {
         return registrationRepository.findById(registrationId).orElseThrow(
@@ -270,4 +512,38 @@ public class RegistrationServiceImpl implements RegistrationService {
 
         return registration.getRegistrationStatus();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, String> getStatusesOfRegistrations(Long eventId, List<Long> userIds) {
+        if (userIds.size() > BATCH_MAX_SIZE) {
+            throw new ValidationException(
+                    String.format("Batch can't contain more than %d user ids.", BATCH_MAX_SIZE));
+        }
+
+        Map<Long, String> statuses = new HashMap<>();
+        for (List<Long> chunk : partition(List.copyOf(new LinkedHashSet<>(userIds)), IN_CLAUSE_CHUNK_SIZE)) {
+            registrationRepository.getListOfUserIdAndStatusByEventIdAndUserIdIn(eventId, chunk)
+                    .forEach(row -> statuses.put((Long) row[0], (String) row[1]));
+        }
+
+        log.debug("Sent statuses of {} registrations with eventId={}.", statuses.size(), eventId);
+
+        return statuses;
+    }
+
+    // Wildcards typed by the user are matched literally.
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private static <T> List<List<T>> partition(List<T> list, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            chunks.add(list.subList(from, Math.min(from + chunkSize, list.size())));
+        }
+        return chunks;
+    }
 }
@@ -0,0 +1,8 @@
+package ru.practicum.workshop.registrationservice.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface RegistrationStreamService {
+
+    SseEmitter subscribe(Long eventId);
+}
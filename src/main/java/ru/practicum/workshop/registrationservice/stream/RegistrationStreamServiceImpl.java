@@ -0,0 +1,147 @@
+package ru.practicum.workshop.registrationservice.stream;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.workshop.registrationservice.dto.RegistrationChangeDto;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@Slf4j
+public class RegistrationStreamServiceImpl implements RegistrationStreamService {
+    // Clients are expected to reconnect when the subscription times out.
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    // Undelivered changes kept per subscriber, a subscriber that falls further behind is disconnected.
+    private static final int SUBSCRIBER_QUEUE_CAPACITY = 64;
+    private static final int SENDER_THREADS = 4;
+    private static final String CHANGE_EVENT_NAME = "registration-change";
+
+    private final Map<Long, Set<Subscriber>> subscribersByEventId = new ConcurrentHashMap<>();
+    private final ExecutorService senderExecutor;
+
+    public RegistrationStreamServiceImpl() {
+        this(Executors.newFixedThreadPool(SENDER_THREADS, new CustomizableThreadFactory("registration-stream-")));
+    }
+
+    // The executor writing changes to the streams of subscribers.
+    public RegistrationStreamServiceImpl(ExecutorService senderExecutor) {
+        this.senderExecutor = senderExecutor;
+    }
+
+    @Override
+    public SseEmitter subscribe(Long eventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(eventId, emitter);
+
+        subscribersByEventId.compute(eventId, (id, subscribers) -> {
+            Set<Subscriber> eventSubscribers = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            eventSubscribers.add(subscriber);
+            return eventSubscribers;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        try {
+            // Sent on initialization, so response headers reach the client before the first change.
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            unsubscribe(subscriber);
+            emitter.completeWithError(e);
+        }
+
+        log.debug("Subscribed to registration changes of event id={}.", eventId);
+
+        return emitter;
+    }
+
+    // Only committed changes are pushed, the publisher's thread just enqueues them.
+    @TransactionalEventListener
+    public void onRegistrationChange(RegistrationChangeDto change) {
+        Set<Subscriber> subscribers = subscribersByEventId.get(change.getEventId());
+        if (subscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(change);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderExecutor.shutdownNow();
+        subscribersByEventId.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribersByEventId.computeIfPresent(subscriber.eventId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long eventId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<RegistrationChangeDto> queue = new ArrayBlockingQueue<>(SUBSCRIBER_QUEUE_CAPACITY);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long eventId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(RegistrationChangeDto change) {
+            if (!queue.offer(change)) {
+                log.warn("Subscriber of event id={} is too slow, closing its stream.", eventId);
+                unsubscribe(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senderExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                RegistrationChangeDto change;
+                while ((change = queue.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .name(CHANGE_EVENT_NAME)
+                            .data(change, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Stream of event id={} closed: {}", eventId, e.getMessage());
+                unsubscribe(this);
+                queue.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+
+            // A change may have been enqueued after the last poll but before the flag was reset.
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.workshop.registrationservice.timing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Time spent by the current request in each category, recorded by the layers that do the work.
+public final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray nanos = new AtomicLongArray(TimingCategory.values().length);
+    private final AtomicLongArray counts = new AtomicLongArray(TimingCategory.values().length);
+
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // Does nothing outside of a timed request, e.g. on scheduler threads.
+    public static void record(TimingCategory category, long durationNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(category, durationNanos);
+        }
+    }
+
+    public void add(TimingCategory category, long durationNanos) {
+        nanos.addAndGet(category.ordinal(), durationNanos);
+        counts.incrementAndGet(category.ordinal());
+    }
+
+    public long getNanos(TimingCategory category) {
+        return nanos.get(category.ordinal());
+    }
+
+    public long getCount(TimingCategory category) {
+        return counts.get(category.ordinal());
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.workshop.registrationservice.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+// Adds a Server-Timing header with time spent in the database, in downstream services, in JSON (de)serialization
+// and in the application itself. The header is set when the response is committed, so the time of writing the body
+// is left out. With buffering enabled the body is held in memory until the request completes, so the header
+// includes it too.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final boolean headerEnabled;
+    private final boolean bufferingEnabled;
+    private final long slowRequestThresholdMs;
+
+    public ServerTimingFilter(@Value("${registration.server-timing.enabled:true}") boolean headerEnabled,
+                              @Value("${registration.server-timing.buffering-enabled:false}") boolean bufferingEnabled,
+                              @Value("${registration.server-timing.slow-request-threshold-ms:0}") long slowRequestThresholdMs) {
+        this.headerEnabled = headerEnabled;
+        this.bufferingEnabled = bufferingEnabled;
+        this.slowRequestThresholdMs = slowRequestThresholdMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Streams are never complete, their events are neither timed nor buffered.
+        return (!headerEnabled && slowRequestThresholdMs <= 0) || request.getRequestURI().endsWith("/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        if (!headerEnabled) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                RequestTimings.clear();
+                logIfSlow(request, response, timings, timings.getElapsedNanos());
+            }
+        } else if (bufferingEnabled) {
+            ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+            try {
+                filterChain.doFilter(request, responseWrapper);
+            } finally {
+                RequestTimings.clear();
+                long totalNanos = timings.getElapsedNanos();
+                responseWrapper.setHeader(SERVER_TIMING_HEADER, toHeaderValue(timings, totalNanos));
+                logIfSlow(request, responseWrapper, timings, totalNanos);
+                responseWrapper.copyBodyToResponse();
+            }
+        } else {
+            TimingHeaderResponseWrapper responseWrapper = new TimingHeaderResponseWrapper(response, timings);
+            try {
+                filterChain.doFilter(request, responseWrapper);
+            } finally {
+                RequestTimings.clear();
+                responseWrapper.setTimingHeader();
+                logIfSlow(request, responseWrapper, timings, timings.getElapsedNanos());
+            }
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, RequestTimings timings,
+                           long totalNanos) {
+        if (slowRequestThresholdMs > 0 && totalNanos >= slowRequestThresholdMs * 1_000_000) {
+            log.warn("Slow request {} {} with status {}: {}", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), toHeaderValue(timings, totalNanos));
+        }
+    }
+
+    static String toHeaderValue(RequestTimings timings, long totalNanos) {
+        StringBuilder value = new StringBuilder();
+        long appNanos = totalNanos;
+        for (TimingCategory category : TimingCategory.values()) {
+            long nanos = timings.getNanos(category);
+            long count = timings.getCount(category);
+            appNanos -= nanos;
+            value.append(category.getMetricName())
+                    .append(";dur=").append(toMillis(nanos))
+                    .append(";desc=\"").append(count).append(count == 1 ? " call" : " calls").append("\", ");
+        }
+        return value.append("app;dur=").append(toMillis(Math.max(appNanos, 0)))
+                .append(", total;dur=").append(toMillis(totalNanos))
+                .toString();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    // Sets the header just before the response is committed, i.e. before the first byte of the body is written,
+    // or when the request completes without a body.
+    private static final class TimingHeaderResponseWrapper extends HttpServletResponseWrapper {
+        private final RequestTimings timings;
+        private boolean headerSet;
+
+        private TimingHeaderResponseWrapper(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        private void setTimingHeader() {
+            if (!headerSet && !isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, toHeaderValue(timings, timings.getElapsedNanos()));
+            }
+            headerSet = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setTimingHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            setTimingHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            setTimingHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            setTimingHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
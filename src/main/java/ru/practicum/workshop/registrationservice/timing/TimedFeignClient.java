@@ -0,0 +1,23 @@
+package ru.practicum.workshop.registrationservice.timing;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class TimedFeignClient implements Client {
+    private final Client delegate;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return delegate.execute(request, options);
+        } finally {
+            RequestTimings.record(TimingCategory.DOWNSTREAM, System.nanoTime() - start);
+        }
+    }
+}
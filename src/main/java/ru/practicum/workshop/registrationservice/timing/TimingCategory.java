@@ -0,0 +1,15 @@
+package ru.practicum.workshop.registrationservice.timing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TimingCategory {
+    DB("db"),
+    DOWNSTREAM("downstream"),
+    SERIALIZATION("ser");
+
+    // Metric name in the Server-Timing header.
+    private final String metricName;
+}
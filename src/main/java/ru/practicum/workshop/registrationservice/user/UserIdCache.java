@@ -0,0 +1,91 @@
+package ru.practicum.workshop.registrationservice.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Ids of users by email of their registrations, for the most recently seen emails only.
+// Emails are also indexed by user, so that a user is evicted without scanning the whole cache.
+// Eviction reaches this instance only, entries expire so that users changed through other instances are looked up
+// again after the time to live.
+@Component
+public class UserIdCache {
+    private final Map<String, Entry> userIds;
+    private final Map<Long, Set<String>> emails = new HashMap<>();
+    private final long ttlNanos;
+
+    public UserIdCache(@Value("${registration.user-id-cache.max-size}") int maxSize,
+                       @Value("${registration.user-id-cache.ttl-ms}") long ttlMs) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.userIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxSize) {
+                    unindex(eldest.getKey(), eldest.getValue().userId());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<Long> get(String email) {
+        String key = normalize(email);
+        synchronized (userIds) {
+            Entry entry = userIds.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (System.nanoTime() - entry.cachedAtNanos() >= ttlNanos) {
+                userIds.remove(key);
+                unindex(key, entry.userId());
+                return Optional.empty();
+            }
+            return Optional.of(entry.userId());
+        }
+    }
+
+    public void put(String email, Long userId) {
+        String key = normalize(email);
+        synchronized (userIds) {
+            // Indexed before the put, which may evict the new entry itself.
+            emails.computeIfAbsent(userId, id -> new HashSet<>()).add(key);
+            Entry previous = userIds.put(key, new Entry(userId, System.nanoTime()));
+            if (previous != null && !previous.userId().equals(userId)) {
+                unindex(key, previous.userId());
+            }
+        }
+    }
+
+    // Called when the user is deleted or its email is changed.
+    public void evictUser(Long userId) {
+        synchronized (userIds) {
+            Set<String> userEmails = emails.remove(userId);
+            if (userEmails != null) {
+                userEmails.forEach(userIds::remove);
+            }
+        }
+    }
+
+    private void unindex(String email, Long userId) {
+        Set<String> userEmails = emails.get(userId);
+        if (userEmails != null && userEmails.remove(email) && userEmails.isEmpty()) {
+            emails.remove(userId);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Long userId, long cachedAtNanos) {
+    }
+}
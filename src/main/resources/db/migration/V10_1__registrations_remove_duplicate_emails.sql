@@ -0,0 +1,25 @@
+-- Prepares the unique index of V11: of the registrations of an event with the same email, ignoring case, the oldest
+-- one is kept and the others are deleted. The deletions are recorded in the change feed and the registrations are
+-- no longer counted to their users. Users left without registrations stay in user-service.
+CREATE TABLE registrations_duplicates AS
+SELECT r.id, r.event_id, r.user_id, r.registration_status
+FROM registrations r
+WHERE EXISTS (SELECT 1 FROM registrations o
+              WHERE o.event_id = r.event_id AND LOWER(o.email) = LOWER(r.email) AND o.id < r.id);
+
+INSERT INTO registration_changes (id, registration_id, event_id, user_id, registration_status, change_type, changed_at)
+SELECT s.last_value + ROW_NUMBER() OVER (ORDER BY d.id), d.id, d.event_id, d.user_id, d.registration_status,
+       'DELETED', LOCALTIMESTAMP
+FROM registrations_duplicates d CROSS JOIN registration_change_sequence s;
+
+UPDATE registration_change_sequence SET last_value = last_value + (SELECT COUNT(*) FROM registrations_duplicates);
+
+UPDATE user_registration_counts SET registrations_count = registrations_count -
+    (SELECT COUNT(*) FROM registrations_duplicates d WHERE d.user_id = user_registration_counts.user_id)
+WHERE user_id IN (SELECT user_id FROM registrations_duplicates);
+
+DELETE FROM user_registration_counts WHERE registrations_count <= 0;
+
+DELETE FROM registrations WHERE id IN (SELECT id FROM registrations_duplicates);
+
+DROP TABLE registrations_duplicates;
@@ -0,0 +1,13 @@
+-- Local copies of events, read by primary key when registrations are validated.
+-- Fields are nullable as in the events pulled from event-service.
+CREATE TABLE IF NOT EXISTS event_snapshots (
+    event_id BIGINT NOT NULL,
+    owner_id BIGINT,
+    registration_status VARCHAR(16),
+    is_limited BOOLEAN NOT NULL,
+    participant_limit INTEGER,
+    start_date_time TIMESTAMP WITHOUT TIME ZONE,
+    end_date_time TIMESTAMP WITHOUT TIME ZONE,
+    synced_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_event_snapshots PRIMARY KEY (event_id)
+);
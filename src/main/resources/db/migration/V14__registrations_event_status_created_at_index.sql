@@ -0,0 +1,3 @@
+-- Pending and waiting registrations of an event are taken oldest first, the index replaces its own prefix.
+DROP INDEX IF EXISTS ix_registrations_event_id_status;
+CREATE INDEX IF NOT EXISTS ix_registrations_event_id_status_created_at ON registrations (event_id, registration_status, created_at);
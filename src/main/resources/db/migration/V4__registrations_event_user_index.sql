@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS ix_registrations_event_id_user_id ON registrations (event_id, user_id);
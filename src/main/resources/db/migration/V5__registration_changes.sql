@@ -0,0 +1,24 @@
+CREATE TABLE IF NOT EXISTS registration_changes (
+    id BIGINT NOT NULL,
+    registration_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT,
+    registration_status VARCHAR(64),
+    change_type VARCHAR(16) NOT NULL,
+    changed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_registration_changes PRIMARY KEY (id)
+);
+
+-- Single-row counter: the row lock taken to reserve numbers is held until commit,
+-- so change numbers become visible in commit order and consumers never skip one.
+CREATE TABLE IF NOT EXISTS registration_change_sequence (
+    last_value BIGINT NOT NULL
+);
+
+-- Existing registrations are exposed as creations, so consumers can start from zero.
+INSERT INTO registration_changes (id, registration_id, event_id, user_id, registration_status, change_type, changed_at)
+SELECT ROW_NUMBER() OVER (ORDER BY id), id, event_id, user_id, registration_status, 'CREATED', created_at
+FROM registrations;
+
+INSERT INTO registration_change_sequence (last_value)
+SELECT COUNT(*) FROM registration_changes;
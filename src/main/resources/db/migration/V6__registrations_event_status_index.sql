@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS ix_registrations_event_id_status ON registrations (event_id, registration_status);
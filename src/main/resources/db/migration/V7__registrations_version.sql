@@ -0,0 +1 @@
+ALTER TABLE registrations ADD version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS user_registration_counts (
+    user_id BIGINT NOT NULL,
+    registrations_count BIGINT NOT NULL,
+    CONSTRAINT pk_user_registration_counts PRIMARY KEY (user_id)
+);
+
+INSERT INTO user_registration_counts (user_id, registrations_count)
+SELECT user_id, COUNT(*) FROM registrations GROUP BY user_id;
@@ -0,0 +1,15 @@
+-- Registrations of finished events, read only by id so the primary key is the only index.
+CREATE TABLE IF NOT EXISTS registrations_archive (
+    id BIGINT NOT NULL,
+    name VARCHAR(64) NOT NULL,
+    email VARCHAR(64) NOT NULL,
+    phone VARCHAR(64) NOT NULL,
+    event_id BIGINT NOT NULL,
+    password VARCHAR(4) NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    registration_status VARCHAR(64) NOT NULL,
+    user_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_registrations_archive PRIMARY KEY (id)
+);
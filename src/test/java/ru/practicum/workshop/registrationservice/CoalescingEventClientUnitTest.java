@@ -0,0 +1,180 @@
+package ru.practicum.workshop.registrationservice;
+
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.workshop.registrationservice.client.CoalescingEventClient;
+import ru.practicum.workshop.registrationservice.client.EventClient;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadline;
+import ru.practicum.workshop.registrationservice.exception.DeadlineExceededException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CoalescingEventClientUnitTest {
+    private static final int CALLERS = 8;
+
+    @Mock
+    private EventClient delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoalescingEventClient eventClient;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventClient = new CoalescingEventClient(delegate, meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // Method "getEvent" tests.
+    @Test
+    public void getEvent_whenCalledConcurrently_thenShareOneCall() throws Exception {
+        EventResponse eventResponse = new EventResponse();
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getEvent(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return eventResponse;
+        });
+
+        List<Future<EventResponse>> results = callConcurrently(() -> eventClient.getEvent(1L));
+        awaitCoalescedCalls("getEvent", CALLERS - 1);
+        release.countDown();
+
+        for (Future<EventResponse> result : results) {
+            assertSame(eventResponse, result.get(5, TimeUnit.SECONDS));
+        }
+        verify(delegate, times(1)).getEvent(1L);
+        assertEquals(1.0, callsCount("getEvent", "executed"));
+        assertEquals(CALLERS - 1, callsCount("getEvent", "coalesced"));
+    }
+
+    @Test
+    public void getEvent_whenSharedCallFails_thenAllCallersGetException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getEvent(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new FeignException.NotFound("Not found", Request.create(Request.HttpMethod.GET, "/events/1",
+                    Collections.emptyMap(), null, StandardCharsets.UTF_8, null), null, null);
+        });
+
+        List<Future<EventResponse>> results = callConcurrently(() -> eventClient.getEvent(1L));
+        awaitCoalescedCalls("getEvent", CALLERS - 1);
+        release.countDown();
+
+        for (Future<EventResponse> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(FeignException.NotFound.class, exception.getCause());
+        }
+        verify(delegate, times(1)).getEvent(1L);
+    }
+
+    @Test
+    public void getEvent_whenSharedCallExceedsDeadlineOfExecutingCaller_thenOtherCallersRetry() throws Exception {
+        EventResponse eventResponse = new EventResponse();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getEvent(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw RequestDeadline.exceeded(null);
+        }).thenReturn(eventResponse);
+
+        Future<EventResponse> executing = executor.submit(() -> eventClient.getEvent(1L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<EventResponse> waiting = executor.submit(() -> eventClient.getEvent(1L));
+        awaitCoalescedCalls("getEvent", 1);
+        release.countDown();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> executing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, exception.getCause());
+        assertSame(eventResponse, waiting.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(2)).getEvent(1L);
+    }
+
+    @Test
+    public void getEvent_whenCalledSequentially_thenCallEachTime() {
+        when(delegate.getEvent(1L)).thenReturn(new EventResponse());
+
+        eventClient.getEvent(1L);
+        eventClient.getEvent(1L);
+
+        verify(delegate, times(2)).getEvent(1L);
+        assertEquals(0.0, callsCount("getEvent", "coalesced"));
+    }
+
+    // Method "getEventTeamMembers" tests.
+    @Test
+    public void getEventTeamMembers_whenCalledConcurrently_thenShareOneCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getEventTeamMembers(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        List<Future<Object>> results = callConcurrently(() -> eventClient.getEventTeamMembers(1L));
+        awaitCoalescedCalls("getEventTeamMembers", CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertEquals(List.of(), result.get(5, TimeUnit.SECONDS));
+        }
+        verify(delegate, times(1)).getEventTeamMembers(1L);
+    }
+
+    private <T> List<Future<T>> callConcurrently(Callable<T> call) {
+        List<Future<T>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private void awaitCoalescedCalls(String method, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (callsCount(method, "coalesced") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(callsCount(method, "coalesced") >= expected);
+    }
+
+    private double callsCount(String method, String outcome) {
+        return meterRegistry.get("registration.event-client.calls")
+                .tag("method", method).tag("outcome", outcome)
+                .counter().count();
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.workshop.registrationservice;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.workshop.registrationservice.deadline.DeadlineFeignClient;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadline;
+import ru.practicum.workshop.registrationservice.exception.DeadlineExceededException;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DeadlineFeignClientUnitTest {
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "/events/1",
+            Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+    private static final Request.Options OPTIONS = new Request.Options(10, TimeUnit.SECONDS, 60, TimeUnit.SECONDS, true);
+
+    @Mock
+    private Client delegate;
+
+    @AfterEach
+    public void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    // Method "execute" tests.
+    @Test
+    public void execute_whenNoDeadline_thenUseConfiguredTimeouts() throws Exception {
+        new DeadlineFeignClient(delegate).execute(REQUEST, OPTIONS);
+
+        verify(delegate).execute(REQUEST, OPTIONS);
+    }
+
+    @Test
+    public void execute_whenDeadlineSet_thenLimitTimeoutsToRemainingTime() throws Exception {
+        Response response = Response.builder().request(REQUEST).status(200).build();
+        ArgumentCaptor<Request.Options> options = ArgumentCaptor.forClass(Request.Options.class);
+        when(delegate.execute(eq(REQUEST), options.capture())).thenReturn(response);
+        RequestDeadline.start(500);
+
+        assertSame(response, new DeadlineFeignClient(delegate).execute(REQUEST, OPTIONS));
+
+        assertTrue(options.getValue().connectTimeoutMillis() <= 500);
+        assertTrue(options.getValue().readTimeoutMillis() <= 500);
+        assertTrue(options.getValue().isFollowRedirects());
+    }
+
+    @Test
+    public void execute_whenDeadlinePassed_thenThrowWithoutCall() throws Exception {
+        RequestDeadline.start(0);
+
+        assertThrows(DeadlineExceededException.class, () -> new DeadlineFeignClient(delegate).execute(REQUEST, OPTIONS));
+        verify(delegate, never()).execute(any(), any());
+    }
+
+    @Test
+    public void execute_whenTimedOutAtDeadline_thenThrowDeadlineExceeded() throws Exception {
+        RequestDeadline.start(20);
+        when(delegate.execute(eq(REQUEST), any())).thenAnswer(invocation -> {
+            Thread.sleep(30);
+            throw new SocketTimeoutException("timeout");
+        });
+
+        assertThrows(DeadlineExceededException.class, () -> new DeadlineFeignClient(delegate).execute(REQUEST, OPTIONS));
+    }
+}
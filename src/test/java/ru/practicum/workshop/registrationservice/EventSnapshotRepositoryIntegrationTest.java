@@ -0,0 +1,69 @@
+package ru.practicum.workshop.registrationservice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.workshop.registrationservice.client.dto.EventRegistrationStatus;
+import ru.practicum.workshop.registrationservice.model.EventSnapshot;
+import ru.practicum.workshop.registrationservice.repository.EventSnapshotRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Runs the native statements on the H2 database of the test profile, migrated by flyway.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class EventSnapshotRepositoryIntegrationTest {
+    private static final LocalDateTime SYNCED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private EventSnapshotRepository eventSnapshotRepository;
+
+    // Method "upsert" tests.
+    @Test
+    public void upsert_whenNoSnapshot_thenInsertWithNulls() {
+        eventSnapshotRepository.upsert(EventSnapshot.builder()
+                .eventId(1L)
+                .syncedAt(SYNCED_AT).build());
+
+        EventSnapshot saved = eventSnapshotRepository.findById(1L).orElseThrow();
+        assertNull(saved.getRegistrationStatus());
+        assertEquals(SYNCED_AT, saved.getSyncedAt());
+    }
+
+    @Test
+    public void upsert_whenNewerSnapshot_thenUpdate() {
+        eventSnapshotRepository.upsert(snapshot(2L, EventRegistrationStatus.OPEN, SYNCED_AT));
+        eventSnapshotRepository.upsert(snapshot(2L, EventRegistrationStatus.CLOSED, SYNCED_AT.plusMinutes(1)));
+
+        assertEquals(EventRegistrationStatus.CLOSED,
+                eventSnapshotRepository.findById(2L).orElseThrow().getRegistrationStatus());
+    }
+
+    @Test
+    public void upsert_whenOlderSnapshot_thenKeepStoredOne() {
+        eventSnapshotRepository.upsert(snapshot(3L, EventRegistrationStatus.CLOSED, SYNCED_AT));
+        eventSnapshotRepository.upsert(snapshot(3L, EventRegistrationStatus.OPEN, SYNCED_AT.minusMinutes(1)));
+
+        EventSnapshot saved = eventSnapshotRepository.findById(3L).orElseThrow();
+        assertEquals(EventRegistrationStatus.CLOSED, saved.getRegistrationStatus());
+        assertEquals(SYNCED_AT, saved.getSyncedAt());
+    }
+
+    private static EventSnapshot snapshot(Long eventId, EventRegistrationStatus status, LocalDateTime syncedAt) {
+        return EventSnapshot.builder()
+                .eventId(eventId)
+                .ownerId(10L)
+                .registrationStatus(status)
+                .limited(true)
+                .participantLimit(5)
+                .startDateTime(SYNCED_AT.plusDays(1))
+                .endDateTime(SYNCED_AT.plusDays(2))
+                .syncedAt(syncedAt).build();
+    }
+}
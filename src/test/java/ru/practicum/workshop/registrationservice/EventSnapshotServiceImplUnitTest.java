@@ -0,0 +1,170 @@
+package ru.practicum.workshop.registrationservice;
+
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.workshop.registrationservice.client.EventClient;
+import ru.practicum.workshop.registrationservice.client.dto.EventRegistrationStatus;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.dto.EventSnapshotDto;
+import ru.practicum.workshop.registrationservice.mapping.EventSnapshotMapper;
+import ru.practicum.workshop.registrationservice.model.EventSnapshot;
+import ru.practicum.workshop.registrationservice.repository.EventSnapshotRepository;
+import ru.practicum.workshop.registrationservice.service.EventSnapshotServiceImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EventSnapshotServiceImplUnitTest {
+    private static final long MAX_AGE_MS = 60_000;
+
+    @Mock
+    private EventSnapshotRepository eventSnapshotRepository;
+
+    @Mock
+    private EventClient eventClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EventSnapshotServiceImpl eventSnapshotService;
+
+    @BeforeEach
+    public void setUp() {
+        eventSnapshotService = new EventSnapshotServiceImpl(eventSnapshotRepository,
+                Mappers.getMapper(EventSnapshotMapper.class), eventClient, transactionManager, MAX_AGE_MS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        eventSnapshotService.destroy();
+    }
+
+    // Method "getEvent" tests.
+    @Test
+    public void getEvent_whenSnapshotFresh_thenReturnWithoutRemoteCall() {
+        when(eventSnapshotRepository.findById(1L)).thenReturn(Optional.of(snapshotSyncedAt(LocalDateTime.now())));
+
+        EventResponse eventResponse = eventSnapshotService.getEvent(1L);
+
+        assertEquals(1L, eventResponse.getId());
+        assertEquals(2L, eventResponse.getOwnerId());
+        assertEquals(EventRegistrationStatus.OPEN, eventResponse.getRegistrationStatus());
+        assertTrue(eventResponse.isLimited());
+        assertEquals(10, eventResponse.getParticipantLimit());
+        verifyNoInteractions(eventClient);
+    }
+
+    @Test
+    public void getEvent_whenSnapshotMissing_thenPullAndSave() {
+        EventResponse pulledEvent = new EventResponse(1L, "Event", "Description", LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), "Location", 2L, null, EventRegistrationStatus.CLOSED, false, null);
+        when(eventSnapshotRepository.findById(1L)).thenReturn(Optional.empty());
+        when(eventClient.getEvent(1L)).thenReturn(pulledEvent);
+        AtomicReference<String> writerThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            writerThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(eventSnapshotRepository).upsert(any());
+
+        assertSame(pulledEvent, eventSnapshotService.getEvent(1L));
+        // Written without the connection of the caller, in a transaction of its own.
+        verify(transactionManager, timeout(1000)).commit(any());
+        verify(eventSnapshotRepository).upsert(argThat(snapshot -> snapshot.getEventId().equals(1L)
+                && snapshot.getRegistrationStatus() == EventRegistrationStatus.CLOSED
+                && snapshot.getSyncedAt() != null));
+        assertEquals("event-snapshot-writer", writerThread.get());
+    }
+
+    @Test
+    public void getEvent_whenSnapshotOutdatedAndEventServiceUnavailable_thenReturnSnapshot() {
+        when(eventSnapshotRepository.findById(1L))
+                .thenReturn(Optional.of(snapshotSyncedAt(LocalDateTime.now().minusHours(1))));
+        when(eventClient.getEvent(1L)).thenThrow(new RetryableException(-1, "Connection refused",
+                Request.HttpMethod.GET, (Long) null, request()));
+
+        EventResponse eventResponse = eventSnapshotService.getEvent(1L);
+
+        assertEquals(EventRegistrationStatus.OPEN, eventResponse.getRegistrationStatus());
+        verify(eventSnapshotRepository, never()).upsert(any());
+    }
+
+    @Test
+    public void getEvent_whenSnapshotMissingAndEventServiceUnavailable_thenThrowException() {
+        when(eventSnapshotRepository.findById(1L)).thenReturn(Optional.empty());
+        when(eventClient.getEvent(1L)).thenThrow(new RetryableException(-1, "Connection refused",
+                Request.HttpMethod.GET, (Long) null, request()));
+
+        assertThrows(RetryableException.class, () -> eventSnapshotService.getEvent(1L));
+    }
+
+    @Test
+    public void getEvent_whenEventDeleted_thenDeleteSnapshotAndThrowException() {
+        EventSnapshot snapshot = snapshotSyncedAt(LocalDateTime.now().minusHours(1));
+        when(eventSnapshotRepository.findById(1L)).thenReturn(Optional.of(snapshot));
+        when(eventClient.getEvent(1L)).thenThrow(new FeignException.NotFound("Not found", request(), null, null));
+
+        assertThrows(EntityNotFoundException.class, () -> eventSnapshotService.getEvent(1L));
+        verify(eventSnapshotRepository, timeout(1000)).deleteById(1L);
+    }
+
+    // Method "saveEvent" tests.
+    @Test
+    public void saveEvent_whenInputValid_thenUpsert() {
+        EventSnapshotDto eventSnapshotDto = EventSnapshotDto.builder()
+                .ownerId(2L)
+                .registrationStatus(EventRegistrationStatus.OPEN)
+                .isLimited(true)
+                .participantLimit(10)
+                .startDateTime(LocalDateTime.now().plusDays(1))
+                .endDateTime(LocalDateTime.now().plusDays(2)).build();
+
+        eventSnapshotService.saveEvent(1L, eventSnapshotDto);
+
+        verify(eventSnapshotRepository).upsert(argThat(snapshot -> snapshot.getEventId().equals(1L)
+                && snapshot.isLimited() && snapshot.getParticipantLimit() == 10));
+    }
+
+    private EventSnapshot snapshotSyncedAt(LocalDateTime syncedAt) {
+        return EventSnapshot.builder()
+                .eventId(1L)
+                .ownerId(2L)
+                .registrationStatus(EventRegistrationStatus.OPEN)
+                .limited(true)
+                .participantLimit(10)
+                .startDateTime(LocalDateTime.now().plusDays(1))
+                .endDateTime(LocalDateTime.now().plusDays(2))
+                .syncedAt(syncedAt).build();
+    }
+
+    private Request request() {
+        return Request.create(Request.HttpMethod.GET, "/events/1", Collections.emptyMap(), null,
+                StandardCharsets.UTF_8, null);
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.workshop.registrationservice;
+
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.workshop.registrationservice.client.EventClient;
+import ru.practicum.workshop.registrationservice.client.HedgingEventClient;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HedgingEventClientUnitTest {
+    private static final int WARM_UP_CALLS = 64;
+
+    @Mock
+    private EventClient delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private HedgingEventClient eventClient;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        eventClient.destroy();
+    }
+
+    // Method "getEvent" tests.
+    @Test
+    public void getEvent_whenReplyIsSlow_thenUseReplyToSecondRequest() {
+        eventClient = new HedgingEventClient(delegate, meterRegistry, true, 95, 100, 4);
+        EventResponse eventResponse = new EventResponse();
+        AtomicInteger calls = new AtomicInteger();
+        when(delegate.getEvent(1L)).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == WARM_UP_CALLS + 1) {
+                release.await(5, TimeUnit.SECONDS);
+                return null;
+            }
+            return eventResponse;
+        });
+        warmUp();
+
+        assertSame(eventResponse, eventClient.getEvent(1L));
+
+        verify(delegate, times(WARM_UP_CALLS + 2)).getEvent(1L);
+        assertEquals(1.0, hedgesCount("sent"));
+        assertEquals(1.0, hedgesCount("won"));
+    }
+
+    @Test
+    public void getEvent_whenBudgetExhausted_thenWaitForFirstRequest() {
+        eventClient = new HedgingEventClient(delegate, meterRegistry, true, 95, 0, 4);
+        EventResponse eventResponse = new EventResponse();
+        AtomicInteger calls = new AtomicInteger();
+        when(delegate.getEvent(1L)).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == WARM_UP_CALLS + 1) {
+                Thread.sleep(50);
+            }
+            return eventResponse;
+        });
+        warmUp();
+
+        assertSame(eventResponse, eventClient.getEvent(1L));
+
+        verify(delegate, times(WARM_UP_CALLS + 1)).getEvent(1L);
+        assertEquals(0.0, hedgesCount("sent"));
+        assertEquals(1.0, hedgesCount("throttled"));
+    }
+
+    @Test
+    public void getEvent_whenBothRequestsFail_thenThrowException() {
+        eventClient = new HedgingEventClient(delegate, meterRegistry, true, 95, 100, 4);
+        AtomicInteger calls = new AtomicInteger();
+        when(delegate.getEvent(1L)).thenAnswer(invocation -> {
+            int call = calls.incrementAndGet();
+            if (call <= WARM_UP_CALLS) {
+                return new EventResponse();
+            }
+            if (call == WARM_UP_CALLS + 1) {
+                Thread.sleep(50);
+            }
+            throw new FeignException.ServiceUnavailable("Unavailable", Request.create(Request.HttpMethod.GET,
+                    "/events/1", Collections.emptyMap(), null, StandardCharsets.UTF_8, null), null, null);
+        });
+        warmUp();
+
+        assertThrows(FeignException.ServiceUnavailable.class, () -> eventClient.getEvent(1L));
+        assertEquals(1.0, hedgesCount("sent"));
+        assertEquals(0.0, hedgesCount("won"));
+    }
+
+    @Test
+    public void getEvent_whenHedgingDisabled_thenCallOnce() {
+        eventClient = new HedgingEventClient(delegate, meterRegistry, false, 95, 100, 4);
+        when(delegate.getEvent(1L)).thenReturn(new EventResponse());
+
+        eventClient.getEvent(1L);
+
+        verify(delegate, times(1)).getEvent(1L);
+        assertEquals(0, meterRegistry.find("registration.event-client.hedges").counters().size());
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            eventClient.getEvent(1L);
+        }
+    }
+
+    private double hedgesCount(String outcome) {
+        return meterRegistry.get("registration.event-client.hedges")
+                .tag("method", "getEvent").tag("outcome", outcome)
+                .counter().count();
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.workshop.registrationservice;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.workshop.registrationservice.dto.HibernateStatisticsDto;
+import ru.practicum.workshop.registrationservice.dto.QueryStatisticsDto;
+import ru.practicum.workshop.registrationservice.service.HibernateStatisticsServiceImpl;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HibernateStatisticsServiceImplUnitTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    private HibernateStatisticsServiceImpl hibernateStatisticsService;
+
+    @BeforeEach
+    public void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        hibernateStatisticsService = new HibernateStatisticsServiceImpl(entityManagerFactory);
+    }
+
+    // Method "getStatistics" tests.
+    @Test
+    public void getStatistics_whenDisabled_thenReturnEmptyStatistics() {
+        when(statistics.isStatisticsEnabled()).thenReturn(false);
+
+        HibernateStatisticsDto result = hibernateStatisticsService.getStatistics();
+
+        assertFalse(result.isStatisticsEnabled());
+        assertTrue(result.getQueries().isEmpty());
+        assertTrue(result.getSlowQueries().isEmpty());
+        verify(statistics, never()).getQueries();
+    }
+
+    @Test
+    public void getStatistics_whenEnabled_thenReturnQueriesByTotalTime() {
+        Instant start = Instant.now();
+        QueryStatistics cheapQuery = mockQueryStatistics(10L, 10L, 1L, 0.5, 5L);
+        QueryStatistics expensiveQuery = mockQueryStatistics(2L, 40L, 30L, 20.0, 40L);
+        QueryStatistics unusedQuery = mockQueryStatistics(0L, 0L, 0L, 0.0, 0L);
+
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getStart()).thenReturn(start);
+        when(statistics.getPrepareStatementCount()).thenReturn(15L);
+        when(statistics.getQueryExecutionCount()).thenReturn(12L);
+        when(statistics.getEntityLoadCount()).thenReturn(3L);
+        when(statistics.getQueries()).thenReturn(new String[]{"cheap", "expensive", "unused"});
+        when(statistics.getQueryStatistics("cheap")).thenReturn(cheapQuery);
+        when(statistics.getQueryStatistics("expensive")).thenReturn(expensiveQuery);
+        when(statistics.getQueryStatistics("unused")).thenReturn(unusedQuery);
+        when(statistics.getSlowQueries()).thenReturn(Map.of("select * from registrations where id=?", 30L));
+
+        HibernateStatisticsDto result = hibernateStatisticsService.getStatistics();
+
+        assertTrue(result.isStatisticsEnabled());
+        assertEquals(start, result.getCollectedSince());
+        assertEquals(15L, result.getPrepareStatementCount());
+        assertEquals(12L, result.getQueryExecutionCount());
+        assertEquals(3L, result.getEntityLoadCount());
+        assertEquals(List.of(
+                new QueryStatisticsDto("expensive", 2L, 40L, 30L, 20.0, 40L),
+                new QueryStatisticsDto("cheap", 10L, 10L, 1L, 0.5, 5L)), result.getQueries());
+        assertEquals(Map.of("select * from registrations where id=?", 30L), result.getSlowQueries());
+    }
+
+    // Method "resetStatistics" tests.
+    @Test
+    public void resetStatistics_whenCalled_thenClearStatistics() {
+        hibernateStatisticsService.resetStatistics();
+
+        verify(statistics).clear();
+    }
+
+    private QueryStatistics mockQueryStatistics(long count, long rows, long maxTime, double meanTime, long totalTime) {
+        QueryStatistics queryStatistics = mock(QueryStatistics.class);
+        when(queryStatistics.getExecutionCount()).thenReturn(count);
+        when(queryStatistics.getExecutionRowCount()).thenReturn(rows);
+        when(queryStatistics.getExecutionMaxTime()).thenReturn(maxTime);
+        when(queryStatistics.getExecutionAvgTimeAsDouble()).thenReturn(meanTime);
+        when(queryStatistics.getExecutionTotalTime()).thenReturn(totalTime);
+        return queryStatistics;
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.workshop.registrationservice;
+
+import feign.Request;
+import feign.RetryableException;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.registrationservice.client.UserClient;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+import ru.practicum.workshop.registrationservice.repository.ArchivedRegistrationRepository;
+import ru.practicum.workshop.registrationservice.repository.RegistrationRepository;
+import ru.practicum.workshop.registrationservice.repository.UserRegistrationCountRepository;
+import ru.practicum.workshop.registrationservice.service.EventSnapshotService;
+import ru.practicum.workshop.registrationservice.service.RegistrationArchivalServiceImpl;
+import ru.practicum.workshop.registrationservice.service.RegistrationChangeService;
+import ru.practicum.workshop.registrationservice.user.UserIdCache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RegistrationArchivalServiceImplUnitTest {
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private RegistrationRepository registrationRepository;
+
+    @Mock
+    private ArchivedRegistrationRepository archivedRegistrationRepository;
+
+    @Mock
+    private UserRegistrationCountRepository userRegistrationCountRepository;
+
+    @Mock
+    private RegistrationChangeService registrationChangeService;
+
+    @Mock
+    private EventSnapshotService eventSnapshotService;
+
+    @Mock
+    private UserClient userClient;
+
+    @Mock
+    private UserIdCache userIdCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RegistrationArchivalServiceImpl registrationArchivalService;
+
+    @BeforeEach
+    public void setUp() {
+        registrationArchivalService = new RegistrationArchivalServiceImpl(registrationRepository,
+                archivedRegistrationRepository, userRegistrationCountRepository, registrationChangeService,
+                eventSnapshotService, userClient, userIdCache, transactionTemplate, BATCH_SIZE);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    // Method "archiveRegistrationsOfFinishedEvents" tests.
+    @Test
+    public void archiveRegistrationsOfFinishedEvents_whenEventFinished_thenMoveRegistrationsInBatches() {
+        List<Registration> firstBatch = List.of(registration(10L, 100L), registration(11L, 101L));
+        List<Registration> secondBatch = List.of(registration(12L, 100L));
+        when(registrationRepository.findDistinctEventIds()).thenReturn(List.of(1L));
+        when(eventSnapshotService.getEvent(1L)).thenReturn(eventEndingAt(LocalDateTime.now().minusDays(1)));
+        when(registrationRepository.findByEventIdOrderById(1L, Limit.of(BATCH_SIZE)))
+                .thenReturn(firstBatch, secondBatch);
+        when(userRegistrationCountRepository.findUserIdsWithoutRegistrations(Set.of(100L, 101L)))
+                .thenReturn(List.of(101L));
+        when(userRegistrationCountRepository.findUserIdsWithoutRegistrations(Set.of(100L)))
+                .thenReturn(List.of(100L));
+
+        registrationArchivalService.archiveRegistrationsOfFinishedEvents();
+
+        InOrder inOrder = inOrder(userRegistrationCountRepository, registrationChangeService,
+                archivedRegistrationRepository, registrationRepository, userClient);
+        inOrder.verify(userRegistrationCountRepository).lockRegistrationsCounts(Set.of(100L, 101L));
+        inOrder.verify(userRegistrationCountRepository).decrementRegistrationsCounts(List.of(10L, 11L));
+        inOrder.verify(userRegistrationCountRepository).deleteEmptyRegistrationsCounts(List.of(101L));
+        inOrder.verify(registrationChangeService).recordChanges(firstBatch, RegistrationChangeType.DELETED);
+        inOrder.verify(archivedRegistrationRepository)
+                .copyRegistrationsToArchive(eq(List.of(10L, 11L)), any(LocalDateTime.class));
+        inOrder.verify(registrationRepository).deleteAllByIdIn(List.of(10L, 11L));
+        inOrder.verify(userClient).autoDeleteUser(101L);
+        inOrder.verify(userRegistrationCountRepository).decrementRegistrationsCounts(List.of(12L));
+        inOrder.verify(registrationChangeService).recordChanges(secondBatch, RegistrationChangeType.DELETED);
+        inOrder.verify(registrationRepository).deleteAllByIdIn(List.of(12L));
+        inOrder.verify(userClient).autoDeleteUser(100L);
+        verify(userIdCache).evictUser(101L);
+        verify(userIdCache).evictUser(100L);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    public void archiveRegistrationsOfFinishedEvents_whenBatchIsFull_thenCheckForMoreRegistrations() {
+        when(registrationRepository.findDistinctEventIds()).thenReturn(List.of(1L));
+        when(eventSnapshotService.getEvent(1L)).thenReturn(eventEndingAt(LocalDateTime.now().minusDays(1)));
+        when(registrationRepository.findByEventIdOrderById(1L, Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(registration(10L, 100L), registration(11L, 100L)), Collections.emptyList());
+
+        registrationArchivalService.archiveRegistrationsOfFinishedEvents();
+
+        verify(registrationRepository).deleteAllByIdIn(List.of(10L, 11L));
+        verify(registrationRepository, times(2)).findByEventIdOrderById(1L, Limit.of(BATCH_SIZE));
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(userClient, never()).autoDeleteUser(anyLong());
+    }
+
+    @Test
+    public void archiveRegistrationsOfFinishedEvents_whenEventDeleted_thenMoveRegistrations() {
+        when(registrationRepository.findDistinctEventIds()).thenReturn(List.of(1L));
+        when(eventSnapshotService.getEvent(1L)).thenThrow(new EntityNotFoundException("Event (id=1) doesn't exist."));
+        when(registrationRepository.findByEventIdOrderById(1L, Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(registration(10L, 100L)));
+
+        registrationArchivalService.archiveRegistrationsOfFinishedEvents();
+
+        verify(archivedRegistrationRepository).copyRegistrationsToArchive(eq(List.of(10L)), any(LocalDateTime.class));
+        verify(registrationRepository).deleteAllByIdIn(List.of(10L));
+    }
+
+    @Test
+    public void archiveRegistrationsOfFinishedEvents_whenEventNotFinished_thenKeepRegistrations() {
+        when(registrationRepository.findDistinctEventIds()).thenReturn(List.of(1L, 2L));
+        when(eventSnapshotService.getEvent(1L)).thenReturn(eventEndingAt(LocalDateTime.now().plusDays(1)));
+        when(eventSnapshotService.getEvent(2L)).thenThrow(new RetryableException(-1, "Connection refused",
+                Request.HttpMethod.GET, (Long) null, Request.create(Request.HttpMethod.GET, "/events/2",
+                        Collections.emptyMap(), null, StandardCharsets.UTF_8, null)));
+
+        registrationArchivalService.archiveRegistrationsOfFinishedEvents();
+
+        verify(registrationRepository, never()).findByEventIdOrderById(anyLong(), any(Limit.class));
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    public void archiveRegistrationsOfFinishedEvents_whenBatchFails_thenContinueWithNextEvent() {
+        when(registrationRepository.findDistinctEventIds()).thenReturn(List.of(1L, 2L));
+        when(eventSnapshotService.getEvent(anyLong())).thenReturn(eventEndingAt(LocalDateTime.now().minusDays(1)));
+        when(registrationRepository.findByEventIdOrderById(1L, Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(registration(10L, 100L)));
+        when(registrationRepository.findByEventIdOrderById(2L, Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(registration(20L, 200L)));
+        when(archivedRegistrationRepository.copyRegistrationsToArchive(eq(List.of(10L)), any(LocalDateTime.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate key"));
+
+        registrationArchivalService.archiveRegistrationsOfFinishedEvents();
+
+        verify(registrationRepository, never()).deleteAllByIdIn(List.of(10L));
+        verify(registrationRepository).deleteAllByIdIn(List.of(20L));
+    }
+
+    private Registration registration(Long id, Long userId) {
+        return Registration.builder()
+                .id(id)
+                .userId(userId)
+                .eventId(1L).build();
+    }
+
+    private EventResponse eventEndingAt(LocalDateTime endDateTime) {
+        EventResponse eventResponse = new EventResponse();
+        eventResponse.setEndDateTime(endDateTime);
+        return eventResponse;
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.workshop.registrationservice;
+
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.registrationservice.client.UserClient;
+import ru.practicum.workshop.registrationservice.dto.EventRegistrationsCancellationDto;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+import ru.practicum.workshop.registrationservice.repository.RegistrationRepository;
+import ru.practicum.workshop.registrationservice.repository.UserRegistrationCountRepository;
+import ru.practicum.workshop.registrationservice.service.RegistrationCancellationServiceImpl;
+import ru.practicum.workshop.registrationservice.service.RegistrationChangeService;
+import ru.practicum.workshop.registrationservice.user.UserIdCache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RegistrationCancellationServiceImplUnitTest {
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private RegistrationRepository registrationRepository;
+
+    @Mock
+    private UserRegistrationCountRepository userRegistrationCountRepository;
+
+    @Mock
+    private RegistrationChangeService registrationChangeService;
+
+    @Mock
+    private UserClient userClient;
+
+    @Mock
+    private UserIdCache userIdCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RegistrationCancellationServiceImpl registrationCancellationService;
+
+    @BeforeEach
+    public void setUp() {
+        registrationCancellationService = new RegistrationCancellationServiceImpl(registrationRepository,
+                userRegistrationCountRepository, registrationChangeService, userClient, userIdCache,
+                transactionTemplate, BATCH_SIZE);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    // Method "cancelRegistrationsOfEvent" tests.
+    @Test
+    public void cancelRegistrationsOfEvent_whenRegistrationsExist_thenDeleteInBatchesAndUsersWithoutRegistrations() {
+        List<Registration> firstBatch = List.of(registration(10L, 1L), registration(11L, 2L));
+        List<Registration> secondBatch = List.of(registration(12L, 3L));
+        when(registrationRepository.findByEventIdOrderById(7L, Limit.of(BATCH_SIZE)))
+                .thenReturn(firstBatch, secondBatch);
+        when(userRegistrationCountRepository.findUserIdsWithoutRegistrations(Set.of(1L, 2L))).thenReturn(List.of(2L));
+        when(userRegistrationCountRepository.findUserIdsWithoutRegistrations(Set.of(3L))).thenReturn(List.of());
+
+        EventRegistrationsCancellationDto result = registrationCancellationService.cancelRegistrationsOfEvent(7L);
+
+        assertEquals(3L, result.getCancelledRegistrations());
+        assertEquals(1L, result.getDeletedUsers());
+        assertEquals(List.of(), result.getFailedUserDeletions());
+
+        InOrder inOrder = inOrder(userRegistrationCountRepository, registrationChangeService, registrationRepository,
+                userClient);
+        inOrder.verify(userRegistrationCountRepository).lockRegistrationsCounts(Set.of(1L, 2L));
+        inOrder.verify(userRegistrationCountRepository).decrementRegistrationsCounts(List.of(10L, 11L));
+        inOrder.verify(userRegistrationCountRepository).deleteEmptyRegistrationsCounts(List.of(2L));
+        inOrder.verify(registrationChangeService).recordChanges(firstBatch, RegistrationChangeType.DELETED);
+        inOrder.verify(registrationRepository).deleteAllByIdIn(List.of(10L, 11L));
+        inOrder.verify(userClient).autoDeleteUser(2L);
+        inOrder.verify(userRegistrationCountRepository).decrementRegistrationsCounts(List.of(12L));
+        inOrder.verify(registrationRepository).deleteAllByIdIn(List.of(12L));
+
+        verify(userIdCache).evictUser(2L);
+        verify(userRegistrationCountRepository, times(1)).deleteEmptyRegistrationsCounts(any());
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    public void cancelRegistrationsOfEvent_whenNoRegistrations_thenDoNothing() {
+        when(registrationRepository.findByEventIdOrderById(7L, Limit.of(BATCH_SIZE))).thenReturn(List.of());
+
+        EventRegistrationsCancellationDto result = registrationCancellationService.cancelRegistrationsOfEvent(7L);
+
+        assertEquals(0L, result.getCancelledRegistrations());
+        verify(registrationRepository, never()).deleteAllByIdIn(any());
+        verifyNoInteractions(userRegistrationCountRepository, registrationChangeService, userClient);
+    }
+
+    @Test
+    public void cancelRegistrationsOfEvent_whenUserDeletionFails_thenContinueAndReportUser() {
+        when(registrationRepository.findByEventIdOrderById(7L, Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(registration(10L, 1L)));
+        when(userRegistrationCountRepository.findUserIdsWithoutRegistrations(Set.of(1L))).thenReturn(List.of(1L));
+        doThrow(new FeignException.InternalServerError("Error", Request.create(Request.HttpMethod.DELETE,
+                "/users/internal", Collections.emptyMap(), null, StandardCharsets.UTF_8, null), null, null))
+                .when(userClient).autoDeleteUser(1L);
+
+        EventRegistrationsCancellationDto result = registrationCancellationService.cancelRegistrationsOfEvent(7L);
+
+        assertEquals(1L, result.getCancelledRegistrations());
+        assertEquals(0L, result.getDeletedUsers());
+        assertEquals(List.of(1L), result.getFailedUserDeletions());
+    }
+
+    private Registration registration(Long id, Long userId) {
+        return Registration.builder()
+                .id(id)
+                .userId(userId)
+                .eventId(7L)
+                .registrationStatus("APPROVED").build();
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.workshop.registrationservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import ru.practicum.workshop.registrationservice.dto.RegistrationChangeDto;
+import ru.practicum.workshop.registrationservice.mapping.RegistrationMapper;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChange;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+import ru.practicum.workshop.registrationservice.repository.RegistrationChangeRepository;
+import ru.practicum.workshop.registrationservice.service.RegistrationChangeServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RegistrationChangeServiceImplUnitTest {
+
+    @Spy
+    private RegistrationMapper registrationMapper = Mappers.getMapper(RegistrationMapper.class);
+
+    @Mock
+    private RegistrationChangeRepository registrationChangeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RegistrationChangeServiceImpl registrationChangeService;
+
+    // Method "recordChange" tests.
+    @Test
+    public void recordChange_whenCalled_thenSaveWithNextSequenceNumberAndPublish() {
+        Registration registration = Registration.builder()
+                .id(5L)
+                .userId(2L)
+                .eventId(3L)
+                .registrationStatus("APPROVED").build();
+
+        when(registrationChangeRepository.getLastSequenceNumber()).thenReturn(42L);
+        when(registrationChangeRepository.save(any(RegistrationChange.class))).then(returnsFirstArg());
+
+        RegistrationChangeDto result = registrationChangeService.recordChange(registration, RegistrationChangeType.UPDATED);
+
+        assertEquals(42L, result.getSequenceNumber());
+        assertEquals(5L, result.getRegistrationId());
+        assertEquals(3L, result.getEventId());
+        assertEquals(2L, result.getUserId());
+        assertEquals("APPROVED", result.getRegistrationStatus());
+        assertEquals(RegistrationChangeType.UPDATED, result.getChangeType());
+
+        InOrder inOrder = inOrder(registrationChangeRepository, eventPublisher);
+        inOrder.verify(registrationChangeRepository).reserveSequenceNumbers(1);
+        inOrder.verify(registrationChangeRepository).getLastSequenceNumber();
+        inOrder.verify(registrationChangeRepository).save(any(RegistrationChange.class));
+        inOrder.verify(eventPublisher).publishEvent(result);
+    }
+
+    // Method "recordChanges" tests.
+    @Test
+    public void recordChanges_whenCalled_thenReserveConsecutiveSequenceNumbersOnce() {
+        List<Registration> registrations = List.of(
+                Registration.builder().id(5L).userId(2L).eventId(3L).registrationStatus("APPROVED").build(),
+                Registration.builder().id(6L).userId(4L).eventId(3L).registrationStatus("PENDING").build());
+
+        when(registrationChangeRepository.getLastSequenceNumber()).thenReturn(42L);
+        when(registrationChangeRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<RegistrationChangeDto> result = registrationChangeService.recordChanges(registrations,
+                RegistrationChangeType.DELETED);
+
+        assertEquals(2, result.size());
+        assertEquals(41L, result.get(0).getSequenceNumber());
+        assertEquals(5L, result.get(0).getRegistrationId());
+        assertEquals(42L, result.get(1).getSequenceNumber());
+        assertEquals(6L, result.get(1).getRegistrationId());
+        verify(registrationChangeRepository).reserveSequenceNumbers(2);
+        verify(eventPublisher).publishEvent(result.get(0));
+        verify(eventPublisher).publishEvent(result.get(1));
+    }
+
+    // Method "getChanges" tests.
+    @Test
+    public void getChanges_whenCalled_thenReturnChangesAfterSequenceNumber() {
+        LocalDateTime changedAt = LocalDateTime.now();
+        RegistrationChange registrationChange = new RegistrationChange(11L, 5L, 3L, 2L, "PENDING",
+                RegistrationChangeType.CREATED, changedAt);
+
+        when(registrationChangeRepository.findAllByIdGreaterThanOrderById(10L, Limit.of(100)))
+                .thenReturn(List.of(registrationChange));
+
+        List<RegistrationChangeDto> result = registrationChangeService.getChanges(10L, 100);
+
+        assertEquals(List.of(new RegistrationChangeDto(11L, 5L, 3L, 2L, "PENDING",
+                RegistrationChangeType.CREATED, changedAt)), result);
+        verify(registrationChangeRepository).findAllByIdGreaterThanOrderById(10L, Limit.of(100));
+    }
+}
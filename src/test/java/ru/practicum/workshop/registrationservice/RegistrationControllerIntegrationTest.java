@@ -11,22 +11,41 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.workshop.registrationservice.controller.RegistrationController;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadline;
+import ru.practicum.workshop.registrationservice.deadline.RequestDeadlineInterceptor;
 import ru.practicum.workshop.registrationservice.dto.*;
 import ru.practicum.workshop.registrationservice.exception.AuthenticationException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+import ru.practicum.workshop.registrationservice.service.EventSnapshotService;
+import ru.practicum.workshop.registrationservice.service.HibernateStatisticsService;
+import ru.practicum.workshop.registrationservice.service.RegistrationCancellationService;
+import ru.practicum.workshop.registrationservice.service.RegistrationChangeService;
 import ru.practicum.workshop.registrationservice.service.RegistrationService;
+import ru.practicum.workshop.registrationservice.stream.RegistrationStreamService;
+import ru.practicum.workshop.registrationservice.timing.RequestTimings;
+import ru.practicum.workshop.registrationservice.timing.TimingCategory;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = RegistrationController.class)
@@ -41,6 +60,21 @@ public class RegistrationControllerIntegrationTest {
     @MockBean
     public RegistrationService registrationService;
 
+    @MockBean
+    public RegistrationStreamService registrationStreamService;
+
+    @MockBean
+    public RegistrationChangeService registrationChangeService;
+
+    @MockBean
+    public HibernateStatisticsService hibernateStatisticsService;
+
+    @MockBean
+    public EventSnapshotService eventSnapshotService;
+
+    @MockBean
+    public RegistrationCancellationService registrationCancellationService;
+
     // Method "createRegistration" tests.
     @Test
     public void createRegistration_whenInputValid_thenSave() throws Exception {
@@ -504,6 +538,30 @@ public class RegistrationControllerIntegrationTest {
                 .andExpect(jsonPath("$.password").doesNotExist());
     }
 
+    @Test
+    public void getRegistration_whenInputValid_thenReturnServerTiming() throws Exception {
+        PublicRegistrationDto publicRegistrationDto = PublicRegistrationDto.builder()
+                .name("Yuri")
+                .email("yuri@yandex.ru")
+                .phone("+79991234560")
+                .eventId(1L).build();
+
+        when(registrationService.getRegistration(1L)).thenAnswer(invocation -> {
+            RequestTimings.record(TimingCategory.DB, 5_000_000L);
+            RequestTimings.record(TimingCategory.DOWNSTREAM, 12_000_000L);
+            RequestTimings.record(TimingCategory.DOWNSTREAM, 3_000_000L);
+            return publicRegistrationDto;
+        });
+
+        mockMvc.perform(get("/registrations/{registrationId}", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(publicRegistrationDto.getName())))
+                .andExpect(header().string("Server-Timing", containsString("db;dur=5.0;desc=\"1 call\"")))
+                .andExpect(header().string("Server-Timing", containsString("downstream;dur=15.0;desc=\"2 calls\"")))
+                .andExpect(header().string("Server-Timing", containsString("total;dur=")));
+    }
+
     @Test
     public void getRegistration_whenRegistrationNotExists_thenThrowException() throws Exception {
         Long registrationId = 1L;
@@ -705,4 +763,285 @@ public class RegistrationControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    void testGetStatusesOfRegistrations_Success() throws Exception {
+        when(registrationService.getStatusesOfRegistrations(1L, List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, "APPROVED", 2L, "PENDING"));
+
+        mockMvc.perform(post("/registrations/internal/status-of-registration/1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(1L, 2L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1").value("APPROVED"))
+                .andExpect(jsonPath("$.2").value("PENDING"));
+    }
+
+    @Test
+    void testGetStatusesOfRegistrations_EmptyUserIds() throws Exception {
+        mockMvc.perform(post("/registrations/internal/status-of-registration/1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testStreamRegistrationChanges_Success() throws Exception {
+        when(registrationStreamService.subscribe(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/registrations/stream")
+                        .param("eventId", "1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void testStreamRegistrationChanges_NoEventId() throws Exception {
+        mockMvc.perform(get("/registrations/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetChanges_Success() throws Exception {
+        List<RegistrationChangeDto> response = List.of(
+                new RegistrationChangeDto(11L, 1L, 1L, 1L, "PENDING", RegistrationChangeType.CREATED,
+                        LocalDateTime.of(2024, 11, 27, 8, 0)),
+                new RegistrationChangeDto(12L, 1L, 1L, 1L, "APPROVED", RegistrationChangeType.UPDATED,
+                        LocalDateTime.of(2024, 11, 27, 9, 0)));
+
+        when(registrationChangeService.getChanges(10L, 2)).thenReturn(response);
+
+        mockMvc.perform(get("/registrations/internal/changes")
+                        .param("since", "10")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sequenceNumber").value(11L))
+                .andExpect(jsonPath("$[0].changeType").value("CREATED"))
+                .andExpect(jsonPath("$[1].sequenceNumber").value(12L))
+                .andExpect(jsonPath("$[1].registrationStatus").value("APPROVED"));
+    }
+
+    @Test
+    void testGetChanges_LimitTooLarge() throws Exception {
+        mockMvc.perform(get("/registrations/internal/changes")
+                        .param("since", "0")
+                        .param("limit", "100000"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testCountByStatusForEvents_Success() throws Exception {
+        Map<Long, Map<String, Long>> response = Map.of(
+                1L, Map.of("APPROVED", 10L, "PENDING", 5L),
+                2L, Map.of("WAITING", 1L));
+
+        when(registrationService.countRegistrationsByStatus(List.of(1L, 2L))).thenReturn(response);
+
+        mockMvc.perform(get("/registrations/status/count/bulk")
+                        .param("eventIds", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1.APPROVED").value(10L))
+                .andExpect(jsonPath("$.1.PENDING").value(5L))
+                .andExpect(jsonPath("$.2.WAITING").value(1L));
+    }
+
+    @Test
+    void testCountByStatusForEvents_NoEventIds() throws Exception {
+        mockMvc.perform(get("/registrations/status/count/bulk"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetStatistics_Success() throws Exception {
+        HibernateStatisticsDto response = HibernateStatisticsDto.builder()
+                .statisticsEnabled(true)
+                .prepareStatementCount(3L)
+                .queryExecutionCount(2L)
+                .queries(List.of(QueryStatisticsDto.builder()
+                        .query("select r from Registration r where r.eventId = :eventId")
+                        .executionCount(2L)
+                        .executionRowCount(7L)
+                        .executionMaxTimeMs(4L)
+                        .executionMeanTimeMs(2.5)
+                        .executionTotalTimeMs(5L).build()))
+                .slowQueries(Map.of()).build();
+
+        when(hibernateStatisticsService.getStatistics()).thenReturn(response);
+
+        mockMvc.perform(get("/registrations/internal/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statisticsEnabled").value(true))
+                .andExpect(jsonPath("$.prepareStatementCount").value(3L))
+                .andExpect(jsonPath("$.queries[0].executionCount").value(2L))
+                .andExpect(jsonPath("$.queries[0].executionRowCount").value(7L))
+                .andExpect(jsonPath("$.queries[0].executionMaxTimeMs").value(4L))
+                .andExpect(jsonPath("$.queries[0].executionMeanTimeMs").value(2.5));
+    }
+
+    @Test
+    void testResetStatistics_Success() throws Exception {
+        mockMvc.perform(delete("/registrations/internal/statistics"))
+                .andExpect(status().isNoContent());
+
+        verify(hibernateStatisticsService).resetStatistics();
+    }
+
+    @Test
+    void testSearchRegistrations_Success() throws Exception {
+        List<RegistrationSearchDto> response = List.of(RegistrationSearchDto.builder()
+                .id(7L)
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L)
+                .registrationStatus("APPROVED").build());
+
+        when(registrationService.searchRegistrations(1L, "yu", 5L, 10)).thenReturn(response);
+
+        mockMvc.perform(get("/registrations/search")
+                        .param("eventId", "1")
+                        .param("q", "yu")
+                        .param("after", "5")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7L))
+                .andExpect(jsonPath("$[0].name").value("Yury"))
+                .andExpect(jsonPath("$[0].registrationStatus").value("APPROVED"));
+    }
+
+    @Test
+    void testSearchRegistrations_DefaultContinuation() throws Exception {
+        when(registrationService.searchRegistrations(1L, "yu", 0L, 20)).thenReturn(List.of());
+
+        mockMvc.perform(get("/registrations/search")
+                        .param("eventId", "1")
+                        .param("q", "yu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void testSearchRegistrations_BlankQuery() throws Exception {
+        mockMvc.perform(get("/registrations/search")
+                        .param("eventId", "1")
+                        .param("q", " "))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testSearchRegistrations_LimitTooLarge() throws Exception {
+        mockMvc.perform(get("/registrations/search")
+                        .param("eventId", "1")
+                        .param("q", "yu")
+                        .param("limit", "1000"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testSaveEventSnapshot_Success() throws Exception {
+        // Event-service pushes its event as is, fields not kept in the snapshot are ignored.
+        String event = "{\"id\": 1, \"name\": \"Event\", \"ownerId\": 2, \"registrationStatus\": \"CLOSED\", " +
+                "\"limited\": true, \"participantLimit\": 10, " +
+                "\"startDateTime\": \"2030-01-01T10:00:00\", \"endDateTime\": \"2030-01-01T18:00:00\"}";
+
+        mockMvc.perform(put("/registrations/internal/events/1")
+                        .content(event)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        verify(eventSnapshotService).saveEvent(eq(1L), argThat(
+                snapshot -> snapshot.isLimited() && snapshot.getParticipantLimit() == 10 && snapshot.getOwnerId() == 2L));
+    }
+
+    @Test
+    void testSaveEventSnapshot_MissingRegistrationStatus() throws Exception {
+        EventSnapshotDto eventSnapshotDto = EventSnapshotDto.builder()
+                .ownerId(2L)
+                .startDateTime(LocalDateTime.of(2030, 1, 1, 10, 0))
+                .endDateTime(LocalDateTime.of(2030, 1, 1, 18, 0)).build();
+
+        mockMvc.perform(put("/registrations/internal/events/1")
+                        .content(objectMapper.writeValueAsString(eventSnapshotDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCancelRegistrationsOfEvent_Success() throws Exception {
+        when(registrationCancellationService.cancelRegistrationsOfEvent(1L)).thenReturn(
+                EventRegistrationsCancellationDto.builder()
+                        .eventId(1L)
+                        .cancelledRegistrations(1200L)
+                        .deletedUsers(900L)
+                        .failedUserDeletions(List.of(5L)).build());
+
+        mockMvc.perform(delete("/registrations/internal/events/1/registrations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cancelledRegistrations").value(1200L))
+                .andExpect(jsonPath("$.deletedUsers").value(900L))
+                .andExpect(jsonPath("$.failedUserDeletions[0]").value(5L));
+    }
+
+    @Test
+    void testApprovePendingRegistrations_Success() throws Exception {
+        when(registrationService.approvePendingRegistrations(5L, 1L)).thenReturn(
+                AutoApprovalResultDto.builder().eventId(1L).approved(10).waiting(3).build());
+
+        mockMvc.perform(patch("/registrations/status/auto-approve")
+                        .header("X-User-Id", 5L)
+                        .param("eventId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.approved").value(10))
+                .andExpect(jsonPath("$.waiting").value(3));
+    }
+
+    @Test
+    void testGetWaitlistPosition_Success() throws Exception {
+        when(registrationService.getWaitlistPosition(7L)).thenReturn(
+                WaitlistPositionDto.builder().registrationId(7L).eventId(1L).position(3L).build());
+
+        mockMvc.perform(get("/registrations/7/waitlist-position"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eventId").value(1))
+                .andExpect(jsonPath("$.position").value(3));
+    }
+
+    @Test
+    void testGetRegistration_WithTimeoutHeader_ShouldLimitDeadline() throws Exception {
+        when(registrationService.getRegistration(1L)).thenAnswer(invocation -> {
+            long remainingNanos = RequestDeadline.remainingNanos();
+            assertTrue(remainingNanos > 0 && remainingNanos <= TimeUnit.MILLISECONDS.toNanos(500));
+            return PublicRegistrationDto.builder().eventId(1L).build();
+        });
+
+        mockMvc.perform(get("/registrations/1")
+                        .header(RequestDeadlineInterceptor.TIMEOUT_HEADER, 500))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetRegistration_WithHugeTimeoutHeader_ShouldLimitDeadlineToMaximum() throws Exception {
+        when(registrationService.getRegistration(1L)).thenAnswer(invocation -> {
+            long remainingNanos = RequestDeadline.remainingNanos();
+            assertTrue(remainingNanos > 0 && remainingNanos <= TimeUnit.SECONDS.toNanos(60));
+            return PublicRegistrationDto.builder().eventId(1L).build();
+        });
+
+        mockMvc.perform(get("/registrations/1")
+                        .header(RequestDeadlineInterceptor.TIMEOUT_HEADER, Long.MAX_VALUE))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetRegistration_DeadlineExceeded_ShouldReturnGatewayTimeout() throws Exception {
+        when(registrationService.getRegistration(1L)).thenAnswer(invocation -> {
+            RequestDeadline.check();
+            return PublicRegistrationDto.builder().eventId(1L).build();
+        });
+
+        mockMvc.perform(get("/registrations/1")
+                        .header(RequestDeadlineInterceptor.TIMEOUT_HEADER, 0))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.type").value("DeadlineExceededException"));
+    }
 }
@@ -0,0 +1,73 @@
+package ru.practicum.workshop.registrationservice;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Migrates an H2 database of its own in two steps, so that duplicates exist before they are removed.
+public class RegistrationDuplicatesMigrationIntegrationTest {
+    private static final String URL = "jdbc:h2:mem:duplicates-migration;DB_CLOSE_DELAY=-1";
+
+    @Test
+    public void migrate_whenEmailRegisteredTwiceToEvent_thenKeepOldestRegistration() throws SQLException {
+        migrate(MigrationVersion.fromVersion("10"));
+        execute("INSERT INTO registrations (id, name, email, phone, event_id, password, created_at, " +
+                "registration_status, user_id) VALUES " +
+                "(1, 'Yury', 'yury@yandex.ru', '+79991234567', 1, '1234', LOCALTIMESTAMP, 'PENDING', 1), " +
+                "(2, 'Yury', 'Yury@Yandex.ru', '+79991234567', 1, '1234', LOCALTIMESTAMP, 'WAITING', 2), " +
+                "(3, 'Yury', 'yury@yandex.ru', '+79991234567', 2, '1234', LOCALTIMESTAMP, 'PENDING', 1)");
+        execute("INSERT INTO user_registration_counts (user_id, registrations_count) VALUES (1, 2), (2, 1)");
+
+        migrate(MigrationVersion.LATEST);
+
+        assertEquals(List.of("1", "3"), query("SELECT id FROM registrations ORDER BY id"));
+        assertEquals(List.of("1:2"), query("SELECT user_id || ':' || registrations_count FROM user_registration_counts"));
+        assertEquals(List.of("1:2:DELETED:WAITING"), query("SELECT id || ':' || registration_id || ':' || change_type " +
+                "|| ':' || registration_status FROM registration_changes"));
+        assertEquals(List.of("1"), query("SELECT last_value FROM registration_change_sequence"));
+        SQLException exception = assertThrows(SQLException.class, () -> execute("INSERT INTO registrations (id, name, " +
+                "email, phone, event_id, password, created_at, registration_status, user_id) VALUES " +
+                "(4, 'Yury', 'YURY@yandex.ru', '+79991234567', 1, '1234', LOCALTIMESTAMP, 'PENDING', 3)"));
+        assertTrue(exception.getMessage().toLowerCase().contains("ux_registrations_event_id_lower_email"));
+    }
+
+    private static void migrate(MigrationVersion target) {
+        Flyway.configure()
+                .dataSource(URL, "test", "test")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "test", "test");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static List<String> query(String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(URL, "test", "test");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                rows.add(resultSet.getString(1));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.workshop.registrationservice;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.workshop.registrationservice.dto.PublicRegistrationStatusDto;
+import ru.practicum.workshop.registrationservice.mapping.RegistrationMapper;
+import ru.practicum.workshop.registrationservice.mapping.RegistrationMapperImpl;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationStatus;
+import ru.practicum.workshop.registrationservice.repository.RegistrationRepository;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Measures the bytes allocated by the calling thread for one status list of a large event, read through the
+// projection and through read-only entities mapped to the same DTOs. The figures are logged, run with
+// -Dtest=RegistrationProjectionAllocationIntegrationTest to reproduce them.
+@Slf4j
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RegistrationMapperImpl.class)
+public class RegistrationProjectionAllocationIntegrationTest {
+    private static final long EVENT_ID = 5000L;
+    private static final int REGISTRATIONS = 5000;
+    private static final int WARM_UP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final List<String> STATUSES = List.of(RegistrationStatus.PENDING.toString());
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private RegistrationMapper registrationMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Method "findStatusRegistrationsByEventIdAndStatuses" tests.
+    @Test
+    public void findStatusRegistrationsByEventIdAndStatuses_whenManyRegistrations_thenAllocateLessThanEntities() {
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            registrations.add(Registration.builder()
+                    .userId((long) i)
+                    .name("Yury")
+                    .email("yury" + i + "@yandex.ru")
+                    .phone("+79991234567")
+                    .eventId(EVENT_ID)
+                    .registrationStatus(RegistrationStatus.PENDING.toString())
+                    .createdAt(LocalDateTime.now())
+                    .password("1234").build());
+        }
+        registrationRepository.saveAll(registrations);
+        entityManager.flush();
+
+        long projectionBytes = measure(() -> registrationRepository
+                .findStatusRegistrationsByEventIdAndStatuses(EVENT_ID, STATUSES));
+        long entityBytes = measure(() -> registrationMapper.toListStatusRegistrationDto(entityManager
+                .createQuery("SELECT r FROM Registration r WHERE r.eventId = :eventId " +
+                        "AND r.registrationStatus IN :statuses ORDER BY r.createdAt", Registration.class)
+                .setParameter("eventId", EVENT_ID)
+                .setParameter("statuses", STATUSES)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList()));
+
+        log.info("Bytes allocated for {} registrations: projection {}, entities and mapper {}.",
+                REGISTRATIONS, projectionBytes, entityBytes);
+        assertTrue(projectionBytes < entityBytes);
+    }
+
+    // The least allocation of the measured runs, each run reads into an empty persistence context.
+    private long measure(Supplier<List<PublicRegistrationStatusDto>> statusList) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long least = Long.MAX_VALUE;
+        for (int run = 0; run < WARM_UP_RUNS + MEASURED_RUNS; run++) {
+            entityManager.clear();
+            long before = threadMXBean.getCurrentThreadAllocatedBytes();
+            List<PublicRegistrationStatusDto> dtos = statusList.get();
+            long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+            assertEquals(REGISTRATIONS, dtos.size());
+            if (run >= WARM_UP_RUNS) {
+                least = Math.min(least, allocated);
+            }
+        }
+        return least;
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.workshop.registrationservice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.workshop.registrationservice.client.EventClient;
+import ru.practicum.workshop.registrationservice.client.UserClient;
+import ru.practicum.workshop.registrationservice.dto.NewUserDto;
+import ru.practicum.workshop.registrationservice.dto.UpdateRegistrationDto;
+import ru.practicum.workshop.registrationservice.mapping.RegistrationMapperImpl;
+import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationStatus;
+import ru.practicum.workshop.registrationservice.repository.RegistrationRepository;
+import ru.practicum.workshop.registrationservice.repository.UserRegistrationCountRepository;
+import ru.practicum.workshop.registrationservice.service.EventSnapshotService;
+import ru.practicum.workshop.registrationservice.service.RegistrationChangeService;
+import ru.practicum.workshop.registrationservice.service.RegistrationServiceImpl;
+import ru.practicum.workshop.registrationservice.user.UserIdCache;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Runs the user lookups of the service on the H2 database of the test profile, other services are mocked.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RegistrationServiceImpl.class, RegistrationMapperImpl.class, UserIdCache.class})
+public class RegistrationServiceImplIntegrationTest {
+
+    @Autowired
+    private RegistrationServiceImpl registrationService;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private UserRegistrationCountRepository userRegistrationCountRepository;
+
+    @MockBean
+    private UserClient userClient;
+
+    @MockBean
+    private EventClient eventClient;
+
+    @MockBean
+    private EventSnapshotService eventSnapshotService;
+
+    @MockBean
+    private RegistrationChangeService registrationChangeService;
+
+    // Method "updateRegistrationData" tests.
+    @Test
+    public void updateRegistrationData_whenOnlyRegistrationOfUser_thenUpdateUser() {
+        Registration registration = saveRegistration(2001L, "yury@yandex.ru", 1L);
+
+        registrationService.updateRegistrationData(UpdateRegistrationDto.builder()
+                .id(registration.getId())
+                .password("1234")
+                .email("yuri@yandex.ru").build());
+
+        verify(userClient).autoUpdateUser(argThat(dto -> dto.getEmail().equals("yuri@yandex.ru")), eq(2001L));
+        verify(userClient, never()).autoCreateUser(any());
+        assertEquals(2001L, registrationRepository.findById(registration.getId()).orElseThrow().getUserId());
+        assertEquals(Optional.of(1L), userRegistrationCountRepository.getRegistrationsCount(2001L));
+    }
+
+    @Test
+    public void updateRegistrationData_whenUserHasOtherRegistrations_thenMoveToNewUser() {
+        Registration registration = saveRegistration(2002L, "ivan@yandex.ru", 1L);
+        saveRegistration(2002L, "ivan@yandex.ru", 2L);
+        when(userClient.autoCreateUser(any(NewUserDto.class))).thenReturn(3002L);
+
+        registrationService.updateRegistrationData(UpdateRegistrationDto.builder()
+                .id(registration.getId())
+                .password("1234")
+                .email("ivan@mail.ru").build());
+
+        verify(userClient, never()).autoUpdateUser(any(), any());
+        verify(userClient).autoCreateUser(argThat(dto -> dto.getEmail().equals("ivan@mail.ru")));
+        assertEquals(3002L, registrationRepository.findById(registration.getId()).orElseThrow().getUserId());
+        assertEquals(Optional.of(1L), userRegistrationCountRepository.getRegistrationsCount(2002L));
+        assertEquals(Optional.of(1L), userRegistrationCountRepository.getRegistrationsCount(3002L));
+    }
+
+    @Test
+    public void updateRegistrationData_whenNewEmailHasUser_thenMoveToItAndDeleteOldUser() {
+        Registration registration = saveRegistration(2003L, "anna@yandex.ru", 1L);
+        saveRegistration(3003L, "anna@mail.ru", 2L);
+
+        registrationService.updateRegistrationData(UpdateRegistrationDto.builder()
+                .id(registration.getId())
+                .password("1234")
+                .email("anna@mail.ru").build());
+
+        verify(userClient, never()).autoUpdateUser(any(), any());
+        verify(userClient).autoDeleteUser(2003L);
+        assertEquals(3003L, registrationRepository.findById(registration.getId()).orElseThrow().getUserId());
+        assertEquals(Optional.empty(), userRegistrationCountRepository.getRegistrationsCount(2003L));
+        assertEquals(Optional.of(2L), userRegistrationCountRepository.getRegistrationsCount(3003L));
+    }
+
+    private Registration saveRegistration(Long userId, String email, Long eventId) {
+        userRegistrationCountRepository.incrementRegistrationsCount(userId);
+        return registrationRepository.saveAndFlush(Registration.builder()
+                .userId(userId)
+                .name("Yury")
+                .email(email)
+                .phone("+79991234567")
+                .eventId(eventId)
+                .registrationStatus(RegistrationStatus.PENDING.toString())
+                .createdAt(LocalDateTime.now())
+                .password("1234").build());
+    }
+}
@@ -1,7 +1,5 @@
 package ru.practicum.workshop.registrationservice;
 
-import feign.FeignException;
-import feign.Request;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.Test;
@@ -13,6 +11,7 @@ import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.exceptions.misusing.PotentialStubbingProblem;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.workshop.registrationservice.client.EventClient;
@@ -21,11 +20,19 @@ import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
 import ru.practicum.workshop.registrationservice.client.dto.PublicOrgTeamMemberDto;
 import ru.practicum.workshop.registrationservice.dto.*;
 import ru.practicum.workshop.registrationservice.exception.AuthenticationException;
+import ru.practicum.workshop.registrationservice.exception.ConflictException;
 import ru.practicum.workshop.registrationservice.mapping.RegistrationMapper;
+import ru.practicum.workshop.registrationservice.model.ArchivedRegistration;
 import ru.practicum.workshop.registrationservice.model.Registration;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
 import ru.practicum.workshop.registrationservice.model.RegistrationStatus;
+import ru.practicum.workshop.registrationservice.repository.ArchivedRegistrationRepository;
 import ru.practicum.workshop.registrationservice.repository.RegistrationRepository;
+import ru.practicum.workshop.registrationservice.repository.UserRegistrationCountRepository;
+import ru.practicum.workshop.registrationservice.service.EventSnapshotService;
+import ru.practicum.workshop.registrationservice.service.RegistrationChangeService;
 import ru.practicum.workshop.registrationservice.service.RegistrationServiceImpl;
+import ru.practicum.workshop.registrationservice.user.UserIdCache;
 import ru.practicum.workshop.registrationservice.client.UserClient;
 
 import java.time.LocalDateTime;
@@ -37,6 +44,7 @@ import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -55,6 +63,21 @@ public class RegistrationServiceImplUnitTest {
     @Mock
     private EventClient eventClient;
 
+    @Mock
+    private EventSnapshotService eventSnapshotService;
+
+    @Mock
+    private RegistrationChangeService registrationChangeService;
+
+    @Mock
+    private UserRegistrationCountRepository userRegistrationCountRepository;
+
+    @Mock
+    private ArchivedRegistrationRepository archivedRegistrationRepository;
+
+    @Mock
+    private UserIdCache userIdCache;
+
     @InjectMocks
     private RegistrationServiceImpl registrationService;
 
@@ -93,11 +116,104 @@ public class RegistrationServiceImplUnitTest {
                 EventRegistrationStatus.OPEN,
                 false,
                 null);
-        when(eventClient.getEvent(any(Long.class))).thenReturn(eventResponse);
+        when(eventSnapshotService.getEvent(any(Long.class))).thenReturn(eventResponse);
 
         AuthRegistrationDto actualAuthRegistrationDto = registrationService.createRegistration(newRegistrationDto);
 
         assertThat(actualAuthRegistrationDto.getId(), equalTo(expectedAuthRegistrationDto.getId()));
+        verify(userRegistrationCountRepository).incrementRegistrationsCount(userId);
+        verify(registrationChangeService).recordChange(Mockito.argThat(registration -> registration.getId().equals(1L)),
+                Mockito.eq(RegistrationChangeType.CREATED));
+    }
+
+    @Test
+    public void createRegistration_whenEmailAlreadyRegistered_thenThrowExceptionWithoutRemoteCalls() {
+        NewRegistrationDto newRegistrationDto = NewRegistrationDto.builder()
+                .name("Yury")
+                .email("Yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L).build();
+
+        when(registrationRepository.existsByEventIdAndEmailIgnoreCase(1L, "Yury@yandex.ru")).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> registrationService.createRegistration(newRegistrationDto));
+        Mockito.verifyNoInteractions(eventSnapshotService, userClient);
+        verify(registrationRepository, Mockito.never()).save(any(Registration.class));
+    }
+
+    @Test
+    public void createRegistration_whenFilterFalsePositive_thenSave() {
+        NewRegistrationDto newRegistrationDto = NewRegistrationDto.builder()
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L).build();
+
+        when(registrationRepository.existsByEventIdAndEmailIgnoreCase(1L, "yury@yandex.ru")).thenReturn(false);
+        when(registrationRepository.save(any(Registration.class)))
+                .thenAnswer(invocation -> {
+                    Registration argument = invocation.getArgument(0);
+                    argument.setId(1L);
+                    return argument;
+                });
+        when(userClient.autoCreateUser(any(NewUserDto.class))).thenReturn(1L);
+        when(eventSnapshotService.getEvent(any(Long.class))).thenReturn(new EventResponse(
+                1L,
+                "Event",
+                "Description",
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2),
+                "Location",
+                2L,
+                null,
+                EventRegistrationStatus.OPEN,
+                false,
+                null));
+
+        AuthRegistrationDto actualAuthRegistrationDto = registrationService.createRegistration(newRegistrationDto);
+
+        assertThat(actualAuthRegistrationDto.getId(), equalTo(1L));
+    }
+
+    @Test
+    public void createRegistration_whenEmailHasUser_thenReuseUserWithoutCreating() {
+        NewRegistrationDto newRegistrationDto = NewRegistrationDto.builder()
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L).build();
+
+        when(registrationRepository.findUserIdsByEmail("yury@yandex.ru", Limit.of(1))).thenReturn(List.of(7L));
+        when(userRegistrationCountRepository.incrementExistingRegistrationsCount(7L)).thenReturn(1);
+        when(eventSnapshotService.getEvent(any(Long.class))).thenReturn(openedEvent());
+
+        registrationService.createRegistration(newRegistrationDto);
+
+        verify(registrationRepository).save(Mockito.argThat(registration -> registration.getUserId().equals(7L)));
+        verify(userIdCache).put("yury@yandex.ru", 7L);
+        Mockito.verifyNoInteractions(userClient);
+        verify(userRegistrationCountRepository, Mockito.never()).incrementRegistrationsCount(any());
+    }
+
+    @Test
+    public void createRegistration_whenCachedUserDeleted_thenCreateUser() {
+        NewRegistrationDto newRegistrationDto = NewRegistrationDto.builder()
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L).build();
+
+        when(userIdCache.get("yury@yandex.ru")).thenReturn(Optional.of(7L));
+        when(userRegistrationCountRepository.incrementExistingRegistrationsCount(7L)).thenReturn(0);
+        when(userClient.autoCreateUser(any(NewUserDto.class))).thenReturn(8L);
+        when(eventSnapshotService.getEvent(any(Long.class))).thenReturn(openedEvent());
+
+        registrationService.createRegistration(newRegistrationDto);
+
+        verify(registrationRepository).save(Mockito.argThat(registration -> registration.getUserId().equals(8L)));
+        verify(userRegistrationCountRepository).incrementRegistrationsCount(8L);
+        verify(userIdCache).put("yury@yandex.ru", 8L);
+        verify(registrationRepository, Mockito.never()).findUserIdsByEmail(any(), any());
     }
 
     @Test
@@ -120,12 +236,8 @@ public class RegistrationServiceImplUnitTest {
                 EventRegistrationStatus.OPEN,
                 false,
                 null);
-        when(eventClient.getEvent(any(Long.class)))
-                .thenThrow(new FeignException.NotFound(
-                        null,
-                        Request.create(Request.HttpMethod.GET, "url", new HashMap<>(), null, null, null),
-                        null,
-                        new HashMap<>()));
+        when(eventSnapshotService.getEvent(any(Long.class)))
+                .thenThrow(new EntityNotFoundException("Event (id=1) doesn't exist."));
 
         assertThrows(EntityNotFoundException.class, () -> registrationService.createRegistration(newRegistrationDto));
     }
@@ -215,6 +327,97 @@ public class RegistrationServiceImplUnitTest {
         PublicRegistrationDto actualPublicRegistrationDto = registrationService.updateRegistrationData(updateRegistrationDto);
 
         assertThat(actualPublicRegistrationDto, equalTo(expectedPublicRegistrationDto));
+        verify(userClient).autoUpdateUser(argThat(dto -> dto.getEmail().equals("yuri@yandex.ru")), any());
+    }
+
+    @Test
+    public void updateRegistrationData_whenEmailRegisteredToEvent_thenThrowException() {
+        UpdateRegistrationDto updateRegistrationDto = UpdateRegistrationDto.builder()
+                .id(1L)
+                .password("1234")
+                .email("yuri@yandex.ru").build();
+
+        Registration registration = Registration.builder()
+                .id(1L)
+                .password("1234")
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L)
+                .userId(2L).build();
+
+        when(registrationRepository.findById(any(Long.class))).thenReturn(Optional.of(registration));
+        when(registrationRepository.existsByEventIdAndEmailIgnoreCase(1L, "yuri@yandex.ru")).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> registrationService.updateRegistrationData(updateRegistrationDto));
+        assertEquals("yury@yandex.ru", registration.getEmail());
+        verify(userClient, Mockito.never()).autoUpdateUser(any(), any());
+        verify(registrationRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    public void updateRegistrationData_whenUserHasOtherRegistrations_thenMoveToNewUser() {
+        UpdateRegistrationDto updateRegistrationDto = UpdateRegistrationDto.builder()
+                .id(1L)
+                .password("1234")
+                .email("yuri@yandex.ru").build();
+
+        Registration registration = Registration.builder()
+                .id(1L)
+                .password("1234")
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L)
+                .userId(2L).build();
+
+        when(registrationRepository.findById(any(Long.class))).thenReturn(Optional.of(registration));
+        when(userIdCache.get("yuri@yandex.ru")).thenReturn(Optional.empty());
+        when(registrationRepository.findUserIdsByEmail("yuri@yandex.ru", Limit.of(1))).thenReturn(List.of());
+        when(userRegistrationCountRepository.getRegistrationsCount(2L)).thenReturn(Optional.of(2L), Optional.of(1L));
+        when(userClient.autoCreateUser(any(NewUserDto.class))).thenReturn(3L);
+
+        registrationService.updateRegistrationData(updateRegistrationDto);
+
+        assertEquals(3L, registration.getUserId());
+        verify(userClient, Mockito.never()).autoUpdateUser(any(), any());
+        verify(userClient).autoCreateUser(argThat(dto -> dto.getEmail().equals("yuri@yandex.ru")));
+        verify(userRegistrationCountRepository).incrementRegistrationsCount(3L);
+        verify(userRegistrationCountRepository).decrementRegistrationsCount(2L);
+        verify(userClient, Mockito.never()).autoDeleteUser(any());
+        verify(userIdCache).put("yuri@yandex.ru", 3L);
+        verify(registrationRepository).save(registration);
+    }
+
+    @Test
+    public void updateRegistrationData_whenNewEmailHasUser_thenMoveToItAndDeleteOldUser() {
+        UpdateRegistrationDto updateRegistrationDto = UpdateRegistrationDto.builder()
+                .id(1L)
+                .password("1234")
+                .email("yuri@yandex.ru").build();
+
+        Registration registration = Registration.builder()
+                .id(1L)
+                .password("1234")
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L)
+                .userId(2L).build();
+
+        when(registrationRepository.findById(any(Long.class))).thenReturn(Optional.of(registration));
+        when(userIdCache.get("yuri@yandex.ru")).thenReturn(Optional.of(3L));
+        when(userRegistrationCountRepository.incrementExistingRegistrationsCount(3L)).thenReturn(1);
+        when(userRegistrationCountRepository.getRegistrationsCount(2L)).thenReturn(Optional.of(0L));
+
+        registrationService.updateRegistrationData(updateRegistrationDto);
+
+        assertEquals(3L, registration.getUserId());
+        verify(userClient, Mockito.never()).autoUpdateUser(any(), any());
+        verify(userClient, Mockito.never()).autoCreateUser(any());
+        verify(userRegistrationCountRepository).decrementRegistrationsCount(2L);
+        verify(userClient).autoDeleteUser(2L);
+        verify(userIdCache).evictUser(2L);
     }
 
     @Test
@@ -243,6 +446,33 @@ public class RegistrationServiceImplUnitTest {
         PublicRegistrationDto actualPublicRegistrationDto = registrationService.updateRegistrationData(updateRegistrationDto);
 
         assertThat(actualPublicRegistrationDto, equalTo(expectedPublicRegistrationDto));
+        verify(userClient, Mockito.never()).autoUpdateUser(any(), any());
+        verify(registrationRepository).save(registration);
+    }
+
+    @Test
+    public void updateRegistrationData_whenNothingChanged_thenSkipWrites() {
+        UpdateRegistrationDto updateRegistrationDto = UpdateRegistrationDto.builder()
+                .id(1L)
+                .password("1234")
+                .email("yury@yandex.ru")
+                .phone("+79991234567").build();
+
+        Registration registration = Registration.builder()
+                .id(1L)
+                .password("1234")
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L).build();
+
+        when(registrationRepository.findById(any(Long.class))).thenReturn(Optional.of(registration));
+
+        registrationService.updateRegistrationData(updateRegistrationDto);
+
+        verify(userClient, Mockito.never()).autoUpdateUser(any(), any());
+        verify(registrationRepository, Mockito.never()).save(any());
+        verify(registrationChangeService, Mockito.never()).recordChange(any(), any());
     }
 
     @Test
@@ -301,7 +531,54 @@ public class RegistrationServiceImplUnitTest {
 
         registrationService.deleteRegistration(authRegistrationDto);
 
-        verify(registrationRepository).deleteById(1L);
+        verify(registrationRepository).delete(registration);
+        verify(registrationChangeService).recordChange(registration, RegistrationChangeType.DELETED);
+    }
+
+    @Test
+    public void deleteRegistration_whenLastUserRegistration_thenDeleteUser() {
+        AuthRegistrationDto authRegistrationDto = AuthRegistrationDto.builder()
+                .id(1L)
+                .password("1234").build();
+
+        Registration registration = Registration.builder()
+                .id(1L)
+                .userId(5L)
+                .password("1234")
+                .registrationStatus(RegistrationStatus.PENDING.toString())
+                .eventId(1L).build();
+
+        when(registrationRepository.findById(any(Long.class))).thenReturn(Optional.of(registration));
+        when(userRegistrationCountRepository.getRegistrationsCount(5L)).thenReturn(Optional.of(0L));
+
+        registrationService.deleteRegistration(authRegistrationDto);
+
+        verify(userRegistrationCountRepository).decrementRegistrationsCount(5L);
+        verify(userRegistrationCountRepository).deleteEmptyRegistrationsCount(5L);
+        verify(userClient).autoDeleteUser(5L);
+        verify(userIdCache).evictUser(5L);
+    }
+
+    @Test
+    public void deleteRegistration_whenUserHasOtherRegistrations_thenKeepUser() {
+        AuthRegistrationDto authRegistrationDto = AuthRegistrationDto.builder()
+                .id(1L)
+                .password("1234").build();
+
+        Registration registration = Registration.builder()
+                .id(1L)
+                .userId(5L)
+                .password("1234")
+                .registrationStatus(RegistrationStatus.PENDING.toString())
+                .eventId(1L).build();
+
+        when(registrationRepository.findById(any(Long.class))).thenReturn(Optional.of(registration));
+        when(userRegistrationCountRepository.getRegistrationsCount(5L)).thenReturn(Optional.of(2L));
+
+        registrationService.deleteRegistration(authRegistrationDto);
+
+        verify(registrationRepository).delete(registration);
+        Mockito.verifyNoInteractions(userClient);
     }
 
     @Test
@@ -360,38 +637,113 @@ public class RegistrationServiceImplUnitTest {
         assertThat(actualPublicRegistrationDto, equalTo(expectedPublicRegistrationDto));
     }
 
+    @Test
+    public void getRegistration_whenRegistrationArchived_thenReturnFromArchive() {
+        Long registrationId = 1L;
+
+        ArchivedRegistration archivedRegistration = ArchivedRegistration.builder()
+                .id(1L)
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L)
+                .archivedAt(LocalDateTime.now()).build();
+
+        PublicRegistrationDto expectedPublicRegistrationDto = PublicRegistrationDto.builder()
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L).build();
+
+        when(registrationRepository.findById(registrationId)).thenReturn(Optional.empty());
+        when(archivedRegistrationRepository.findById(registrationId)).thenReturn(Optional.of(archivedRegistration));
+
+        PublicRegistrationDto actualPublicRegistrationDto = registrationService.getRegistration(registrationId);
+
+        assertThat(actualPublicRegistrationDto, equalTo(expectedPublicRegistrationDto));
+    }
+
     @Test
     public void getRegistration_whenRegistrationNotExists_thenThrowException() {
         Long registrationId = 1L;
 
         when(registrationRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(archivedRegistrationRepository.findById(any(Long.class))).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> registrationService.getRegistration(registrationId));
     }
 
+    // Method "getWaitlistPosition" tests.
+    @Test
+    public void getWaitlistPosition_whenRegistrationWaiting_thenReturnPosition() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        Registration registration = Registration.builder()
+                .id(7L)
+                .eventId(1L)
+                .registrationStatus(RegistrationStatus.WAITING.toString())
+                .createdAt(createdAt).build();
+
+        when(registrationRepository.findById(7L)).thenReturn(Optional.of(registration));
+        when(registrationRepository.countRegistrationsAhead(1L, RegistrationStatus.WAITING.toString(), createdAt, 7L))
+                .thenReturn(2L);
+
+        WaitlistPositionDto waitlistPositionDto = registrationService.getWaitlistPosition(7L);
+
+        assertThat(waitlistPositionDto, equalTo(WaitlistPositionDto.builder()
+                .registrationId(7L)
+                .eventId(1L)
+                .position(3L).build()));
+    }
+
+    @Test
+    public void getWaitlistPosition_whenRegistrationNotWaiting_thenThrowException() {
+        Registration registration = Registration.builder()
+                .id(7L)
+                .eventId(1L)
+                .registrationStatus(RegistrationStatus.APPROVED.toString()).build();
+
+        when(registrationRepository.findById(7L)).thenReturn(Optional.of(registration));
+
+        assertThrows(ConflictException.class, () -> registrationService.getWaitlistPosition(7L));
+        Mockito.verify(registrationRepository, Mockito.never()).countRegistrationsAhead(any(), any(), any(), any());
+    }
+
+    // Method "searchRegistrations" tests.
+    @Test
+    public void searchRegistrations_whenInputValid_thenSearchByLowerCasePrefix() {
+        List<RegistrationSearchDto> expectedRegistrations = List.of(RegistrationSearchDto.builder()
+                .id(7L)
+                .name("Yury")
+                .email("yury@yandex.ru")
+                .phone("+79991234567")
+                .eventId(1L)
+                .registrationStatus("APPROVED").build());
+
+        when(registrationRepository.searchByEventIdAndPrefix(1L, "yu%", 5L, Limit.of(20)))
+                .thenReturn(expectedRegistrations);
+
+        List<RegistrationSearchDto> actualRegistrations = registrationService.searchRegistrations(1L, " Yu ", 5L, 20);
+
+        assertEquals(expectedRegistrations, actualRegistrations);
+    }
+
+    @Test
+    public void searchRegistrations_whenQueryHasWildcards_thenEscapeThem() {
+        when(registrationRepository.searchByEventIdAndPrefix(1L, "100\\%\\_a\\\\b%", 0L, Limit.of(20)))
+                .thenReturn(List.of());
+
+        List<RegistrationSearchDto> actualRegistrations = registrationService.searchRegistrations(1L, "100%_A\\b", 0L, 20);
+
+        assertEquals(List.of(), actualRegistrations);
+        verify(registrationRepository).searchByEventIdAndPrefix(1L, "100\\%\\_a\\\\b%", 0L, Limit.of(20));
+    }
+
     // Method "getRegistrations" tests.
     @Test
     public void getRegistrations_whenInputValid_thenReturn() {
         Long eventId = 1L;
         Pageable pageable = PageRequest.of(0, 2);
 
-        List<Registration> registrationList = List.of(
-                Registration.builder()
-                        .id(1L)
-                        .password("1234")
-                        .name("Yury")
-                        .email("yury@yandex.ru")
-                        .phone("+79991234567")
-                        .eventId(1L).build(),
-                Registration.builder()
-                        .id(2L)
-                        .password("5678")
-                        .name("Igor")
-                        .email("igor@yandex.ru")
-                        .phone("+79991234568")
-                        .eventId(1L).build()
-        );
-
         List<PublicRegistrationDto> expectedPublicRegistrationDto = List.of(
                 PublicRegistrationDto.builder()
                         .name("Yury")
@@ -405,8 +757,8 @@ public class RegistrationServiceImplUnitTest {
                         .eventId(1L).build()
         );
 
-        when(registrationRepository.findAllByEventId(any(Long.class), any(Pageable.class)))
-                .thenReturn(registrationList);
+        when(registrationRepository.findPublicRegistrationsByEventId(any(Long.class), any(Pageable.class)))
+                .thenReturn(expectedPublicRegistrationDto);
 
         List<PublicRegistrationDto> actualPublicRegistrationDto =
                 registrationService.getRegistrations(eventId, pageable);
@@ -463,7 +815,7 @@ public class RegistrationServiceImplUnitTest {
         eventResponse.setOwnerId(requesterId);
         eventResponse.setRegistrationStatus(EventRegistrationStatus.OPEN);
         eventResponse.setLimited(false);
-        Mockito.when(eventClient.getEvent(eventId)).thenReturn(eventResponse);
+        Mockito.when(eventSnapshotService.getEvent(eventId)).thenReturn(eventResponse);
 
         registrationService.updateRegistrationStatus(requesterId, request);
 
@@ -493,7 +845,7 @@ public class RegistrationServiceImplUnitTest {
         eventResponse.setOwnerId(requesterId + 1);
         eventResponse.setRegistrationStatus(EventRegistrationStatus.OPEN);
         eventResponse.setLimited(false);
-        Mockito.when(eventClient.getEvent(eventId)).thenReturn(eventResponse);
+        Mockito.when(eventSnapshotService.getEvent(eventId)).thenReturn(eventResponse);
 
         PublicOrgTeamMemberDto publicOrgTeamMemberDto = new PublicOrgTeamMemberDto();
         publicOrgTeamMemberDto.setUserId(requesterId);
@@ -506,6 +858,151 @@ public class RegistrationServiceImplUnitTest {
         Mockito.verify(registrationRepository).save(registration);
     }
 
+    @Test
+    void updateStatus_whenEventIsFull_shouldMoveToWaitingAndKeepRequest() {
+        Long requesterId = 777L;
+        Long eventId = 100L;
+
+        UpdateStatusDto request = new UpdateStatusDto(1L, "APPROVED", null);
+
+        Registration registration = new Registration();
+        registration.setId(1L);
+        registration.setRegistrationStatus("PENDING");
+        registration.setEventId(eventId);
+
+        Mockito.when(registrationRepository.findById(1L))
+                .thenReturn(Optional.of(registration));
+
+        EventResponse eventResponse = new EventResponse();
+        eventResponse.setId(eventId);
+        eventResponse.setOwnerId(requesterId);
+        eventResponse.setRegistrationStatus(EventRegistrationStatus.OPEN);
+        eventResponse.setLimited(true);
+        eventResponse.setParticipantLimit(1);
+        Mockito.when(eventSnapshotService.getEvent(eventId)).thenReturn(eventResponse);
+        Mockito.when(registrationRepository.countByEventIdAndRegistrationStatusIn(eventId, Set.of("APPROVED")))
+                .thenReturn(1L);
+
+        PublicRegistrationStatusDto result = registrationService.updateRegistrationStatus(requesterId, request);
+
+        assertEquals("WAITING", registration.getRegistrationStatus());
+        assertEquals("WAITING", result.getRegistrationStatus());
+        assertEquals("APPROVED", request.getStatus());
+    }
+
+    // Method "approvePendingRegistrations" tests.
+    @Test
+    void approvePendingRegistrations_whenEventLimited_shouldApproveOldestAndMoveRestToWaiting() {
+        Long requesterId = 777L;
+        Long eventId = 100L;
+
+        EventResponse eventResponse = new EventResponse();
+        eventResponse.setId(eventId);
+        eventResponse.setOwnerId(requesterId);
+        eventResponse.setRegistrationStatus(EventRegistrationStatus.OPEN);
+        eventResponse.setLimited(true);
+        eventResponse.setParticipantLimit(3);
+        Mockito.when(eventSnapshotService.getEvent(eventId)).thenReturn(eventResponse);
+
+        List<Registration> pendingRegistrations = List.of(
+                Registration.builder().id(3L).eventId(eventId).registrationStatus("PENDING").build(),
+                Registration.builder().id(1L).eventId(eventId).registrationStatus("PENDING").build(),
+                Registration.builder().id(2L).eventId(eventId).registrationStatus("PENDING").build());
+        Mockito.when(registrationRepository.findByEventIdAndRegistrationStatusOrderByCreatedAtAscIdAsc(eventId, "PENDING"))
+                .thenReturn(pendingRegistrations);
+        Mockito.when(registrationRepository.countByEventIdAndRegistrationStatusIn(eventId, Set.of("APPROVED")))
+                .thenReturn(1L);
+        Mockito.when(registrationRepository.updateRegistrationsStatusByIdIn(List.of(3L, 1L), "APPROVED"))
+                .thenReturn(2);
+        Mockito.when(registrationRepository.updateRegistrationsStatusByIdIn(List.of(2L), "WAITING"))
+                .thenReturn(1);
+
+        AutoApprovalResultDto result = registrationService.approvePendingRegistrations(requesterId, eventId);
+
+        assertEquals(2, result.getApproved());
+        assertEquals(1, result.getWaiting());
+        assertEquals(List.of("APPROVED", "APPROVED", "WAITING"),
+                pendingRegistrations.stream().map(Registration::getRegistrationStatus).toList());
+        verify(registrationChangeService).recordChanges(pendingRegistrations, RegistrationChangeType.UPDATED);
+    }
+
+    @Test
+    void approvePendingRegistrations_whenEventUnlimited_shouldApproveAll() {
+        Long requesterId = 777L;
+        Long eventId = 100L;
+
+        EventResponse eventResponse = new EventResponse();
+        eventResponse.setId(eventId);
+        eventResponse.setOwnerId(requesterId);
+        eventResponse.setRegistrationStatus(EventRegistrationStatus.OPEN);
+        eventResponse.setLimited(false);
+        Mockito.when(eventSnapshotService.getEvent(eventId)).thenReturn(eventResponse);
+
+        Mockito.when(registrationRepository.findByEventIdAndRegistrationStatusOrderByCreatedAtAscIdAsc(eventId, "PENDING"))
+                .thenReturn(List.of(Registration.builder().id(1L).eventId(eventId).registrationStatus("PENDING").build()));
+        Mockito.when(registrationRepository.updateRegistrationsStatusByIdIn(List.of(1L), "APPROVED"))
+                .thenReturn(1);
+
+        AutoApprovalResultDto result = registrationService.approvePendingRegistrations(requesterId, eventId);
+
+        assertEquals(1, result.getApproved());
+        assertEquals(0, result.getWaiting());
+        Mockito.verify(registrationRepository, Mockito.never())
+                .updateRegistrationsStatusByIdIn(any(), Mockito.eq("WAITING"));
+    }
+
+    @Test
+    void approvePendingRegistrations_whenRequesterNotManager_shouldThrowException() {
+        Long eventId = 100L;
+
+        EventResponse eventResponse = new EventResponse();
+        eventResponse.setId(eventId);
+        eventResponse.setOwnerId(1L);
+        eventResponse.setRegistrationStatus(EventRegistrationStatus.OPEN);
+        Mockito.when(eventSnapshotService.getEvent(eventId)).thenReturn(eventResponse);
+        Mockito.when(eventClient.getEventTeamMembers(eventId)).thenReturn(List.of());
+
+        assertThrows(AuthenticationException.class, () -> registrationService.approvePendingRegistrations(2L, eventId));
+        Mockito.verify(registrationRepository, Mockito.never())
+                .findByEventIdAndRegistrationStatusOrderByCreatedAtAscIdAsc(any(), any());
+    }
+
+    @Test
+    void deleteRegistration_whenApprovedRegistrationDeleted_shouldPromoteFirstWaiting() {
+        AuthRegistrationDto authRegistrationDto = AuthRegistrationDto.builder()
+                .id(1L)
+                .password("1234").build();
+
+        Registration registration = Registration.builder()
+                .id(1L)
+                .userId(1L)
+                .password("1234")
+                .registrationStatus(RegistrationStatus.APPROVED.toString())
+                .eventId(1L).build();
+        Registration waiting = Registration.builder()
+                .id(2L)
+                .registrationStatus(RegistrationStatus.WAITING.toString())
+                .eventId(1L)
+                .version(0L).build();
+
+        when(registrationRepository.findById(1L)).thenReturn(Optional.of(registration));
+        EventResponse eventResponse = new EventResponse();
+        eventResponse.setStartDateTime(LocalDateTime.now().plusDays(1));
+        eventResponse.setEndDateTime(LocalDateTime.now().plusDays(2));
+        when(eventSnapshotService.getEvent(1L)).thenReturn(eventResponse);
+        when(registrationRepository.findFirstByEventIdAndRegistrationStatusOrderByCreatedAtAscIdAsc(1L, "WAITING"))
+                .thenReturn(Optional.of(waiting));
+
+        registrationService.deleteRegistration(authRegistrationDto);
+
+        // Saved as loaded, so that the version detects a concurrent change.
+        assertEquals("PENDING", waiting.getRegistrationStatus());
+        assertEquals(0L, waiting.getVersion());
+        verify(registrationRepository).save(waiting);
+        verify(registrationChangeService).recordChange(waiting, RegistrationChangeType.UPDATED);
+        verify(registrationRepository).delete(registration);
+    }
+
     @Test
     void countByStatus_shouldReturnCountSuccessfully() {
         Long eventId = 1L;
@@ -526,22 +1023,18 @@ public class RegistrationServiceImplUnitTest {
         Long eventId = 1L;
         List<String> statuses = List.of("PENDING");
 
-        List<Registration> mockRegistrations = List.of(
-                new Registration(1L, 1L, "name", "email", "89993335544", 1L,
-                        "PENDING", LocalDateTime.now(), "1234"));
+        List<PublicRegistrationStatusDto> mockRegistrations = List.of(
+                new PublicRegistrationStatusDto("name", "email", "89993335544", 1L,
+                        "PENDING", LocalDateTime.now(), null));
 
-        Mockito.when(registrationRepository.findAllByEventIdAndRegistrationStatusInOrderByCreatedAt(eventId, statuses))
+        Mockito.when(registrationRepository.findStatusRegistrationsByEventIdAndStatuses(eventId, statuses))
                 .thenReturn(mockRegistrations);
 
-        Mockito.when(registrationMapper.toStatusRegistrationDtoWithoutReason(Mockito.any()))
-                .thenReturn(new PublicRegistrationStatusDto("name", "email", "89993335544", 1L,
-                        "PENDING", null, ""));
-
         List<PublicRegistrationStatusDto> result = registrationService.getRegistrationsWithStatusesAndEventId(eventId, statuses);
 
         assertEquals(1, result.size());
-        Mockito.verify(registrationRepository).findAllByEventIdAndRegistrationStatusInOrderByCreatedAt(eventId, statuses);
-        Mockito.verify(registrationMapper).toStatusRegistrationDtoWithoutReason(Mockito.any());
+        Mockito.verify(registrationRepository).findStatusRegistrationsByEventIdAndStatuses(eventId, statuses);
+        Mockito.verifyNoInteractions(registrationMapper);
     }
 
     @Test
@@ -549,13 +1042,13 @@ public class RegistrationServiceImplUnitTest {
         Long eventId = 1L;
         List<String> statuses = List.of("PENDING");
 
-        Mockito.when(registrationRepository.findAllByEventIdAndRegistrationStatusInOrderByCreatedAt(eventId, statuses))
+        Mockito.when(registrationRepository.findStatusRegistrationsByEventIdAndStatuses(eventId, statuses))
                 .thenReturn(Collections.emptyList());
 
         List<PublicRegistrationStatusDto> result = registrationService.getRegistrationsWithStatusesAndEventId(eventId, statuses);
 
         assertEquals(0, result.size());
-        Mockito.verify(registrationRepository).findAllByEventIdAndRegistrationStatusInOrderByCreatedAt(eventId, statuses);
+        Mockito.verify(registrationRepository).findStatusRegistrationsByEventIdAndStatuses(eventId, statuses);
         Mockito.verifyNoInteractions(registrationMapper);
     }
 
@@ -566,12 +1059,12 @@ public class RegistrationServiceImplUnitTest {
 
         List<Registration> mockRegistrations = List.of(
                 new Registration(1L, 1L, "name", "email", "89993335544", 1L,
-                        "PENDING", LocalDateTime.now(), "1234"),
+                        "PENDING", LocalDateTime.now(), "1234", 0L),
                 new Registration(2L, 2L, "name2", "email2", "89993335545", 1L,
-                        "APPROVED", LocalDateTime.now(), "1235")
+                        "APPROVED", LocalDateTime.now(), "1235", 0L)
         );
 
-        /*Mockito.when(registrationRepository.findAllByEventIdAndRegistrationStatusInOrderByCreatedAt(eventId, statuses))
+        /*Mockito.when(registrationRepository.findStatusRegistrationsByEventIdAndStatuses(eventId, statuses))
                 .thenReturn(mockRegistrations);*/
 
         /*Mockito.when(registrationMapper.toListStatusRegistrationDto(mockRegistrations))
@@ -585,7 +1078,7 @@ public class RegistrationServiceImplUnitTest {
         List<PublicRegistrationStatusDto> result = registrationService.getRegistrationsWithStatusesAndEventId(eventId, statuses);
 
         assertEquals(0, result.size());
-        //Mockito.verify(registrationRepository).findAllByEventIdAndRegistrationStatusInOrderByCreatedAt(eventId, statuses);
+        //Mockito.verify(registrationRepository).findStatusRegistrationsByEventIdAndStatuses(eventId, statuses);
     }
 
     @Test
@@ -600,4 +1093,74 @@ public class RegistrationServiceImplUnitTest {
         assertEquals("Unknown status: INVALID_STATUS", exception.getMessage());
     }
 
+    @Test
+    void getStatusesOfRegistrations_shouldReturnStatusesByUserId() {
+        Long eventId = 1L;
+
+        List<Object[]> response = new ArrayList<>();
+        response.add(new Object[]{1L, "PENDING"});
+        response.add(new Object[]{2L, "APPROVED"});
+        Mockito.when(registrationRepository.getListOfUserIdAndStatusByEventIdAndUserIdIn(eventId, List.of(1L, 2L, 3L)))
+                .thenReturn(response);
+
+        Map<Long, String> result = registrationService.getStatusesOfRegistrations(eventId, List.of(1L, 2L, 3L, 2L));
+
+        assertEquals(Map.of(1L, "PENDING", 2L, "APPROVED"), result);
+    }
+
+    @Test
+    void getStatusesOfRegistrations_whenManyUserIds_shouldQueryInChunks() {
+        Long eventId = 1L;
+        List<Long> userIds = new ArrayList<>();
+        for (long userId = 1; userId <= 1200; userId++) {
+            userIds.add(userId);
+        }
+
+        Mockito.when(registrationRepository.getListOfUserIdAndStatusByEventIdAndUserIdIn(Mockito.eq(eventId), Mockito.anyCollection()))
+                .thenReturn(Collections.emptyList());
+
+        registrationService.getStatusesOfRegistrations(eventId, userIds);
+
+        Mockito.verify(registrationRepository, Mockito.times(3))
+                .getListOfUserIdAndStatusByEventIdAndUserIdIn(Mockito.eq(eventId), Mockito.anyCollection());
+    }
+
+    @Test
+    void getStatusesOfRegistrations_whenTooManyUserIds_shouldThrowException() {
+        List<Long> userIds = Collections.nCopies(5001, 1L);
+
+        assertThrows(ValidationException.class, () -> registrationService.getStatusesOfRegistrations(1L, userIds));
+        Mockito.verifyNoInteractions(registrationRepository);
+    }
+
+    @Test
+    void countByStatusForEvents_shouldGroupCountsByEvent() {
+        List<Object[]> response = new ArrayList<>();
+        response.add(new Object[]{1L, "PENDING", 3L});
+        response.add(new Object[]{1L, "APPROVED", 2L});
+        response.add(new Object[]{2L, "WAITING", 1L});
+        Mockito.when(registrationRepository.getListByEventIdInAndGroupByEventIdAndRegistrationStatus(List.of(1L, 2L, 3L)))
+                .thenReturn(response);
+
+        Map<Long, Map<String, Long>> result = registrationService.countRegistrationsByStatus(List.of(1L, 2L, 3L));
+
+        assertEquals(Map.of("PENDING", 3L, "APPROVED", 2L), result.get(1L));
+        assertEquals(Map.of("WAITING", 1L), result.get(2L));
+        assertEquals(Map.of(), result.get(3L));
+    }
+
+    private EventResponse openedEvent() {
+        return new EventResponse(
+                1L,
+                "Event",
+                "Description",
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2),
+                "Location",
+                2L,
+                null,
+                EventRegistrationStatus.OPEN,
+                false,
+                null);
+    }
 }
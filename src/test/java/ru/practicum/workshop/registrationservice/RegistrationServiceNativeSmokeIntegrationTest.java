@@ -0,0 +1,182 @@
+package ru.practicum.workshop.registrationservice;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Runs against the executable built by "mvn -Pnative verify", skipped when there is none. Event-service and
+// user-service are replaced by stub servers, so that Feign clients and JSON of their DTOs are exercised too.
+public class RegistrationServiceNativeSmokeIntegrationTest {
+    private static final String EVENT_JSON = "{\"id\":1,\"name\":\"Event\",\"description\":\"Description\","
+            + "\"startDateTime\":\"2100-01-01T10:00:00\",\"endDateTime\":\"2100-01-01T18:00:00\","
+            + "\"location\":\"Location\",\"ownerId\":2,\"createdDateTime\":\"2000-01-01T10:00:00\","
+            + "\"registrationStatus\":\"OPEN\"}";
+
+    private static final Path EXECUTABLE = Path.of(System.getProperty("native.executable", "target/registration-service"));
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+
+    private static final List<String> USER_SERVICE_REQUESTS = new CopyOnWriteArrayList<>();
+
+    private static HttpServer eventService;
+
+    private static HttpServer userService;
+
+    private static Process process;
+
+    private static String baseUrl;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        assumeTrue(Files.isExecutable(EXECUTABLE), "Native executable " + EXECUTABLE + " is not built.");
+
+        eventService = startStub(exchange -> {
+            if (exchange.getRequestMethod().equals("GET") && exchange.getRequestURI().getPath().equals("/events/1")) {
+                respond(exchange, 200, EVENT_JSON);
+            } else {
+                respond(exchange, 404, "{}");
+            }
+        });
+        userService = startStub(exchange -> {
+            USER_SERVICE_REQUESTS.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + " "
+                    + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, 200, "7");
+        });
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        baseUrl = "http://localhost:" + port;
+
+        String databaseUrl = "jdbc:h2:mem:native-smoke;DB_CLOSE_DELAY=-1";
+        process = new ProcessBuilder(EXECUTABLE.toString(),
+                "--spring.profiles.active=test",
+                "--server.port=" + port,
+                "--spring.datasource.url=" + databaseUrl,
+                "--spring.flyway.url=" + databaseUrl,
+                "--spring.cloud.openfeign.client.config.event-service-client.url=" + stubUrl(eventService),
+                "--spring.cloud.openfeign.client.config.user-service-client.url=" + stubUrl(userService))
+                .inheritIO()
+                .start();
+
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (!isHealthy()) {
+            assertTrue(process.isAlive(), () -> "Native executable exited with code " + process.exitValue());
+            assertTrue(System.nanoTime() < deadline, "Native executable didn't start in " + STARTUP_TIMEOUT);
+            Thread.sleep(100);
+        }
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (process != null) {
+            process.destroy();
+        }
+        if (eventService != null) {
+            eventService.stop(0);
+        }
+        if (userService != null) {
+            userService.stop(0);
+        }
+    }
+
+    @Test
+    public void createRegistration_whenEventOpen_thenCreateUserAndRegistration() throws Exception {
+        HttpResponse<String> response = post("/registrations", "{\"name\":\"Yury\",\"email\":\"yury@yandex.ru\","
+                + "\"phone\":\"+79991234567\",\"eventId\":1}");
+
+        assertEquals(201, response.statusCode(), response.body());
+        assertTrue(response.body().contains("\"password\""));
+        assertEquals(1, USER_SERVICE_REQUESTS.size());
+        assertTrue(USER_SERVICE_REQUESTS.get(0).startsWith("POST /users/internal "));
+        assertTrue(USER_SERVICE_REQUESTS.get(0).contains("\"email\":\"yury@yandex.ru\""));
+    }
+
+    @Test
+    public void getRegistration_whenNotExists_thenEntityNotFound() throws Exception {
+        HttpResponse<String> response = get("/registrations/100");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("EntityNotFoundException"));
+    }
+
+    @Test
+    public void getRegistrations_whenEventHasNone_thenEmptyList() throws Exception {
+        HttpResponse<String> response = get("/registrations?eventId=2");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("[]", response.body());
+    }
+
+    @Test
+    public void getApiDocs_thenOk() throws Exception {
+        assertEquals(200, get("/v3/api-docs").statusCode());
+    }
+
+    private static boolean isHealthy() {
+        try {
+            return get("/actuator/health").statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static HttpServer startStub(HttpHandler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", handler);
+        server.start();
+        return server;
+    }
+
+    private static String stubUrl(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private static HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return HTTP_CLIENT.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return HTTP_CLIENT.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.workshop.registrationservice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import ru.practicum.workshop.registrationservice.client.EventClient;
+import ru.practicum.workshop.registrationservice.client.UserClient;
+import ru.practicum.workshop.registrationservice.client.dto.EventResponse;
+import ru.practicum.workshop.registrationservice.config.RegistrationServiceRuntimeHints;
+import ru.practicum.workshop.registrationservice.dto.NewRegistrationDto;
+import ru.practicum.workshop.registrationservice.dto.RegistrationChangeDto;
+import ru.practicum.workshop.registrationservice.mapping.RegistrationMapperImpl;
+import ru.practicum.workshop.registrationservice.model.Registration;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RegistrationServiceRuntimeHintsUnitTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    public void setUp() {
+        new RegistrationServiceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    public void registerHints_thenMapperImplementationCanBeInstantiated() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RegistrationMapperImpl.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    public void registerHints_thenFeignClientsCanBeProxied() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(EventClient.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(UserClient.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(EventClient.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+    }
+
+    @Test
+    public void registerHints_thenDtosCanBeBound() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(NewRegistrationDto.class.getMethod("getEmail")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(EventResponse.class.getMethod("setEndDateTime", LocalDateTime.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(RegistrationChangeDto.class.getMethod("getSequenceNumber")).test(hints));
+    }
+
+    @Test
+    public void registerHints_thenEntitiesAndMigrationsAreAvailable() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Registration.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V1__initial_schema.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("db/vendor/postgresql/V10__registrations_search_indexes.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("ehcache.xml").test(hints));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.workshop.registrationservice;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+public class RegistrationServiceStartupIntegrationTest {
+    // Time to ready of a reference build in milliseconds, e.g. -Dstartup.baseline-ms=15000.
+    private static final long BASELINE_MS = Long.getLong("startup.baseline-ms", 0L);
+    // Allowed slowdown against the baseline, startup time varies between runs.
+    private static final double TOLERANCE = 1.2;
+
+    @Test
+    public void startup_whenContextReady_thenNotSlowerThanBaseline() {
+        AtomicReference<Duration> timeToReady = new AtomicReference<>();
+        SpringApplication application = new SpringApplication(RegistrationServiceApplication.class);
+        application.addListeners((ApplicationListener<ApplicationReadyEvent>) event ->
+                timeToReady.set(event.getTimeTaken()));
+
+        try (ConfigurableApplicationContext context = application.run(
+                "--spring.profiles.active=test", "--server.port=0")) {
+            assertTrue(context.isActive());
+        }
+
+        assertNotNull(timeToReady.get());
+        log.info("Time to ready: {} ms, baseline: {} ms.", timeToReady.get().toMillis(), BASELINE_MS);
+        if (BASELINE_MS > 0) {
+            assertTrue(timeToReady.get().toMillis() <= BASELINE_MS * TOLERANCE,
+                    String.format("Time to ready %d ms exceeds baseline %d ms.", timeToReady.get().toMillis(), BASELINE_MS));
+        }
+    }
+}
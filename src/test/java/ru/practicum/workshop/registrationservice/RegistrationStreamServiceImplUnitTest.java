@@ -0,0 +1,198 @@
+package ru.practicum.workshop.registrationservice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.workshop.registrationservice.dto.RegistrationChangeDto;
+import ru.practicum.workshop.registrationservice.model.RegistrationChangeType;
+import ru.practicum.workshop.registrationservice.stream.RegistrationStreamServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+public class RegistrationStreamServiceImplUnitTest {
+    private static final int SUBSCRIBER_QUEUE_CAPACITY = 64;
+
+    private RegistrationStreamServiceImpl registrationStreamService;
+
+    private MockMvc mockMvc;
+
+    @AfterEach
+    public void tearDown() {
+        registrationStreamService.shutdown();
+    }
+
+    // Method "onRegistrationChange" tests.
+    @Test
+    public void onRegistrationChange_whenSubscribedToEvent_thenSendChange() throws Exception {
+        setUp(Executors.newFixedThreadPool(1));
+        MvcResult mvcResult = subscribe(1L);
+
+        registrationStreamService.onRegistrationChange(change(10L, 1L));
+
+        String content = awaitContent(mvcResult, "\"registrationId\":10,");
+        assertTrue(content.contains(":subscribed"));
+        assertTrue(content.contains("event:registration-change"));
+    }
+
+    @Test
+    public void onRegistrationChange_whenSubscribedToOtherEvent_thenSkipChange() throws Exception {
+        setUp(Executors.newFixedThreadPool(1));
+        MvcResult mvcResult = subscribe(1L);
+
+        registrationStreamService.onRegistrationChange(change(10L, 2L));
+        registrationStreamService.onRegistrationChange(change(11L, 1L));
+
+        String content = awaitContent(mvcResult, "\"registrationId\":11,");
+        assertFalse(content.contains("\"registrationId\":10,"));
+    }
+
+    @Test
+    public void onRegistrationChange_whenNoSubscribers_thenDoNothing() {
+        setUp(Executors.newFixedThreadPool(1));
+
+        registrationStreamService.onRegistrationChange(change(10L, 1L));
+    }
+
+    @Test
+    public void onRegistrationChange_whenSeveralChanges_thenSendInOrder() throws Exception {
+        setUp(Executors.newFixedThreadPool(1));
+        MvcResult mvcResult = subscribe(1L);
+
+        for (long registrationId = 1; registrationId <= 20; registrationId++) {
+            registrationStreamService.onRegistrationChange(change(registrationId, 1L));
+        }
+
+        String content = awaitContent(mvcResult, "\"registrationId\":20,");
+        assertTrue(content.indexOf("\"registrationId\":19,") < content.indexOf("\"registrationId\":20,"));
+    }
+
+    @Test
+    public void onRegistrationChange_whenSubscriberQueueOverflows_thenCloseStream() throws Exception {
+        ManualExecutor senderExecutor = new ManualExecutor();
+        setUp(senderExecutor);
+        MvcResult mvcResult = subscribe(1L);
+
+        // Nothing is sent until the executor runs, so the queue fills up.
+        for (long registrationId = 1; registrationId <= SUBSCRIBER_QUEUE_CAPACITY + 1; registrationId++) {
+            registrationStreamService.onRegistrationChange(change(registrationId, 1L));
+        }
+
+        // The stream is completed, otherwise there is no async result.
+        mvcResult.getAsyncResult(1000);
+        senderExecutor.runAll();
+        registrationStreamService.onRegistrationChange(change(100L, 1L));
+        senderExecutor.runAll();
+
+        assertFalse(mvcResult.getResponse().getContentAsString().contains("event:registration-change"));
+    }
+
+    private void setUp(ExecutorService senderExecutor) {
+        registrationStreamService = new RegistrationStreamServiceImpl(senderExecutor);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(registrationStreamService)).build();
+    }
+
+    private MvcResult subscribe(Long eventId) throws Exception {
+        return mockMvc.perform(get("/stream")
+                        .param("eventId", eventId.toString())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static RegistrationChangeDto change(Long registrationId, Long eventId) {
+        return RegistrationChangeDto.builder()
+                .registrationId(registrationId)
+                .eventId(eventId)
+                .registrationStatus("PENDING")
+                .changeType(RegistrationChangeType.CREATED)
+                .changedAt(LocalDateTime.now()).build();
+    }
+
+    // Changes are sent by a background thread.
+    private static String awaitContent(MvcResult mvcResult, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = mvcResult.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = mvcResult.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), "Stream doesn't contain " + expected + ": " + content);
+        return content;
+    }
+
+    // Serves the stream without the rest of the registration API.
+    @RestController
+    public static class StreamController {
+        private final RegistrationStreamServiceImpl registrationStreamService;
+
+        public StreamController(RegistrationStreamServiceImpl registrationStreamService) {
+            this.registrationStreamService = registrationStreamService;
+        }
+
+        @GetMapping("/stream")
+        public SseEmitter stream(@RequestParam("eventId") Long eventId) {
+            return registrationStreamService.subscribe(eventId);
+        }
+    }
+
+    // Runs submitted tasks only when asked to, on the test thread.
+    private static class ManualExecutor extends AbstractExecutorService {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            tasks.clear();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            List<Runnable> pending = new ArrayList<>(tasks);
+            tasks.clear();
+            return pending;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.workshop.registrationservice;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.workshop.registrationservice.timing.RequestTimings;
+import ru.practicum.workshop.registrationservice.timing.ServerTimingFilter;
+import ru.practicum.workshop.registrationservice.timing.TimingCategory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServerTimingFilterUnitTest {
+
+    // Method "doFilter" tests.
+    @Test
+    public void doFilter_whenBufferingDisabled_thenSetHeaderBeforeBodyIsCommitted() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(true, false, 0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, chainResponse) -> {
+            RequestTimings.record(TimingCategory.DB, 5_000_000L);
+            chainResponse.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+            chainResponse.flushBuffer();
+            RequestTimings.record(TimingCategory.DB, 5_000_000L);
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/registrations/1"), response, chain);
+
+        assertTrue(response.isCommitted());
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER),
+                containsString("db;dur=5.0;desc=\"1 call\""));
+        assertEquals("{}", response.getContentAsString());
+    }
+
+    @Test
+    public void doFilter_whenNoBody_thenSetHeaderOnCompletion() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(true, false, 0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, chainResponse) -> RequestTimings.record(TimingCategory.DB, 5_000_000L);
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/registrations"), response, chain);
+
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER),
+                containsString("db;dur=5.0;desc=\"1 call\""));
+    }
+
+    @Test
+    public void doFilter_whenBufferingEnabled_thenHeaderIncludesTimeOfWritingBody() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(true, true, 0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, chainResponse) -> {
+            chainResponse.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+            chainResponse.flushBuffer();
+            RequestTimings.record(TimingCategory.SERIALIZATION, 5_000_000L);
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/registrations/1"), response, chain);
+
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER),
+                containsString("ser;dur=5.0;desc=\"1 call\""));
+        assertEquals("{}", response.getContentAsString());
+    }
+
+    @Test
+    public void doFilter_whenHeaderDisabled_thenNoHeader() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(false, false, 1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/registrations/1"), response, (request, chainResponse) -> { });
+
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER));
+    }
+}
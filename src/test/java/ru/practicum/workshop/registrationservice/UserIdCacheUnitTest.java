@@ -0,0 +1,83 @@
+package ru.practicum.workshop.registrationservice;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.workshop.registrationservice.user.UserIdCache;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UserIdCacheUnitTest {
+    private static final long TTL_MS = 60_000;
+
+    // Method "get" tests.
+    @Test
+    public void get_whenEmailDiffersInCase_thenReturnUserId() {
+        UserIdCache userIdCache = new UserIdCache(2, TTL_MS);
+        userIdCache.put("Yury@yandex.ru", 1L);
+
+        assertEquals(Optional.of(1L), userIdCache.get("yury@Yandex.ru"));
+    }
+
+    @Test
+    public void get_whenMoreEmailsThanLimit_thenLeastRecentlyUsedEvicted() {
+        UserIdCache userIdCache = new UserIdCache(2, TTL_MS);
+        userIdCache.put("yury@yandex.ru", 1L);
+        userIdCache.put("ivan@yandex.ru", 2L);
+        userIdCache.get("yury@yandex.ru");
+        userIdCache.put("anna@yandex.ru", 3L);
+
+        assertEquals(Optional.of(1L), userIdCache.get("yury@yandex.ru"));
+        assertEquals(Optional.empty(), userIdCache.get("ivan@yandex.ru"));
+        assertEquals(Optional.of(3L), userIdCache.get("anna@yandex.ru"));
+    }
+
+    @Test
+    public void get_whenTimeToLivePassed_thenEmpty() throws InterruptedException {
+        UserIdCache userIdCache = new UserIdCache(2, 1);
+        userIdCache.put("yury@yandex.ru", 1L);
+
+        Thread.sleep(5);
+
+        assertEquals(Optional.empty(), userIdCache.get("yury@yandex.ru"));
+    }
+
+    // Method "evictUser" tests.
+    @Test
+    public void evictUser_whenUserHasSeveralEmails_thenEvictAll() {
+        UserIdCache userIdCache = new UserIdCache(10, TTL_MS);
+        userIdCache.put("yury@yandex.ru", 1L);
+        userIdCache.put("yury@mail.ru", 1L);
+        userIdCache.put("ivan@yandex.ru", 2L);
+
+        userIdCache.evictUser(1L);
+
+        assertEquals(Optional.empty(), userIdCache.get("yury@yandex.ru"));
+        assertEquals(Optional.empty(), userIdCache.get("yury@mail.ru"));
+        assertEquals(Optional.of(2L), userIdCache.get("ivan@yandex.ru"));
+    }
+
+    @Test
+    public void evictUser_whenEmailMovedToOtherUser_thenKeepEmail() {
+        UserIdCache userIdCache = new UserIdCache(10, TTL_MS);
+        userIdCache.put("yury@yandex.ru", 1L);
+        userIdCache.put("yury@yandex.ru", 2L);
+
+        userIdCache.evictUser(1L);
+
+        assertEquals(Optional.of(2L), userIdCache.get("yury@yandex.ru"));
+    }
+
+    @Test
+    public void evictUser_whenEmailEvictedAndPutAgain_thenEvictIt() {
+        UserIdCache userIdCache = new UserIdCache(1, TTL_MS);
+        userIdCache.put("yury@yandex.ru", 1L);
+        userIdCache.put("ivan@yandex.ru", 2L);
+        userIdCache.put("yury@yandex.ru", 1L);
+
+        userIdCache.evictUser(1L);
+
+        assertEquals(Optional.empty(), userIdCache.get("yury@yandex.ru"));
+        assertEquals(Optional.empty(), userIdCache.get("ivan@yandex.ru"));
+    }
+}
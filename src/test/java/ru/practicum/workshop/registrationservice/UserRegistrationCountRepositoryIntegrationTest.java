@@ -0,0 +1,61 @@
+package ru.practicum.workshop.registrationservice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.workshop.registrationservice.repository.UserRegistrationCountRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs the native statements on the H2 database of the test profile, migrated by flyway.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class UserRegistrationCountRepositoryIntegrationTest {
+
+    @Autowired
+    private UserRegistrationCountRepository userRegistrationCountRepository;
+
+    // Method "incrementRegistrationsCount" tests.
+    @Test
+    public void incrementRegistrationsCount_whenNoCounter_thenCreateWithOne() {
+        userRegistrationCountRepository.incrementRegistrationsCount(1001L);
+
+        assertEquals(Optional.of(1L), userRegistrationCountRepository.getRegistrationsCount(1001L));
+    }
+
+    @Test
+    public void incrementRegistrationsCount_whenCounterExists_thenIncrement() {
+        userRegistrationCountRepository.incrementRegistrationsCount(1002L);
+        userRegistrationCountRepository.incrementRegistrationsCount(1002L);
+
+        assertEquals(Optional.of(2L), userRegistrationCountRepository.getRegistrationsCount(1002L));
+    }
+
+    // Method "decrementRegistrationsCount" tests.
+    @Test
+    public void decrementRegistrationsCount_whenLastRegistration_thenDeleteEmptyCounter() {
+        userRegistrationCountRepository.incrementRegistrationsCount(1003L);
+
+        userRegistrationCountRepository.decrementRegistrationsCount(1003L);
+        userRegistrationCountRepository.deleteEmptyRegistrationsCount(1003L);
+
+        assertEquals(Optional.empty(), userRegistrationCountRepository.getRegistrationsCount(1003L));
+    }
+
+    // Method "lockRegistrationsCounts" tests.
+    @Test
+    public void lockRegistrationsCounts_whenCountersExist_thenReturnUserIdsInOrder() {
+        userRegistrationCountRepository.incrementRegistrationsCount(1005L);
+        userRegistrationCountRepository.incrementRegistrationsCount(1004L);
+
+        assertEquals(List.of(1004L, 1005L),
+                userRegistrationCountRepository.lockRegistrationsCounts(Set.of(1005L, 1004L, 1006L)));
+    }
+}